@@ -0,0 +1,110 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * Latency distribution of a mixed load on a small platform-thread Tomcat pool: many clients read
+ * single tasks (a database round trip each, caches disabled) while a few poll {@code /tasks/stats},
+ * which never touches the database. With {@code async=false} the task reads hold request threads
+ * while they wait for a connection, so stats requests queue behind them; with {@code async=true}
+ * the request threads are released and only the task reads wait. Compare the p99/p99.9 columns.
+ * Point -Dbench.jdbc.url at PostgreSQL for realistic round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AsyncResponseLatencyBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    @Param({ "false", "true" })
+    public boolean async;
+
+    @Param({ "16" })
+    public int tomcatMaxThreads;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private final List<Integer> ids = new ArrayList<>();
+    private HttpClient client;
+    private String baseUrl;
+    private HttpRequest statsRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplications.start(true, Map.of(
+                "server.tomcat.threads.max", tomcatMaxThreads,
+                "todo.async.enabled", async,
+                "todo.cache.tasks.maximum-size", 0,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", false));
+        taskService = context.getBean(TaskService.class);
+        // Only the rows created here are read and removed again, so an existing database can be used
+        for (int from = 0; from < TASKS; from += 1000) {
+            List<TaskRequest> requests = new ArrayList<>();
+            for (int i = from; i < from + 1000; i++) {
+                requests.add(BenchmarkApplications.request(i));
+            }
+            taskService.createTasks(requests).stream().map(BatchItemResult::getTodo_id).forEach(ids::add);
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + port;
+        statsRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/stats")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        taskService.deleteTasks(ids);
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(64)
+    public int getTask() throws Exception {
+        int id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/" + id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int getStats() throws Exception {
+        return client.send(statsRequest, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
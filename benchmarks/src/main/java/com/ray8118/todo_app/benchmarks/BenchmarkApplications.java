@@ -0,0 +1,92 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.TodoAppApplication;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * Boots the real application for service- and HTTP-level benchmarks. By default it runs against a
+ * private in-memory H2 database; pass -Dbench.jdbc.url (plus .username/.password) to measure
+ * against PostgreSQL instead.
+ */
+final class BenchmarkApplications {
+
+    private BenchmarkApplications() {
+    }
+
+    static ConfigurableApplicationContext start(boolean web, Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        String jdbcUrl = System.getProperty("bench.jdbc.url");
+        if (jdbcUrl == null) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            // Migrations use PostgreSQL-only features; let Hibernate build the schema instead
+            properties.put("spring.flyway.enabled", "false");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            properties.put("todo.change-tracking", "local");
+        } else {
+            properties.put("spring.datasource.url", jdbcUrl);
+            properties.put("spring.datasource.username", System.getProperty("bench.jdbc.username", "postgres"));
+            properties.put("spring.datasource.password", System.getProperty("bench.jdbc.password", ""));
+        }
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.ray8118.todo_app", "WARN");
+        properties.put("server.port", "0");
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(TodoAppApplication.class);
+        application.setWebApplicationType(web ? WebApplicationType.SERVLET : WebApplicationType.NONE);
+        return application.run(toArgs(properties));
+    }
+
+    static void seed(TaskService taskService, int rows) {
+        int chunk = 1000;
+        for (int from = 0; from < rows; from += chunk) {
+            List<TaskRequest> requests = new ArrayList<>(chunk);
+            for (int i = from; i < Math.min(from + chunk, rows); i++) {
+                requests.add(request(i));
+            }
+            taskService.createTasks(requests);
+        }
+        // Complete every other task so status filters return half the table
+        List<Integer> ids = new ArrayList<>();
+        taskService.streamAllTasks(task -> {
+            if (task.getTodo_id() % 2 == 0) {
+                ids.add(task.getTodo_id());
+            }
+        });
+        for (int from = 0; from < ids.size(); from += chunk) {
+            taskService.completeTasks(ids.subList(from, Math.min(from + chunk, ids.size())));
+        }
+    }
+
+    static TaskRequest request(int i) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Benchmark task " + i);
+        request.setDescription("Generated description for benchmark task number " + i);
+        request.setDueDate(LocalDate.now().plusDays(i % 365));
+        return request;
+    }
+
+    private static String[] toArgs(Map<String, Object> properties) {
+        return properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+
+/**
+ * 64 threads asking for the same {@code filterTasksByStatus(false)} list at once, with request
+ * coalescing on and off. With coalescing on, the callers absorbed per execution are printed at
+ * teardown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(64)
+@Fork(1)
+public class CoalescingBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean coalescing;
+
+    @Param({ "10000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplications.start(false, Map.of(
+                "todo.coalescing.enabled", coalescing));
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplications.seed(taskService, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Search absorbed = context.getBean(MeterRegistry.class).find("todo.coalescing.absorbed")
+                .tag("method", "filterTasksByStatus");
+        if (absorbed.summary() != null) {
+            System.out.printf("%n%.1f callers absorbed per execution%n", absorbed.summary().mean());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> filterOpenTasks() {
+        return taskService.filterTasksByStatus(false);
+    }
+}
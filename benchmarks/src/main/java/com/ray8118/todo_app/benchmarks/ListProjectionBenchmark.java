@@ -0,0 +1,69 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.mapper.TaskMapper;
+import com.ray8118.todo_app.repository.TaskRepository;
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * Loading every row of a 100k-row table: hydrating managed Task entities and copying them into
+ * TaskResponse (the previous list path) versus selecting TaskResponse directly in a read-only
+ * transaction. Add {@code -prof gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    @Param({ "100000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplications.start(false, Map.of());
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        BenchmarkApplications.seed(taskService, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> hydratedEntities() {
+        return taskRepository.findAll().stream().map(TaskMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<TaskResponse> projection() {
+        return taskService.getAllTasks();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.mapper.TaskMapper;
+import com.ray8118.todo_app.model.Task;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Cost of mapping a 50k-row list with the application package logged at DEBUG, as
+ * application.properties ships. {@code legacy} replays the old mapper, which made two DEBUG calls
+ * per row; {@code current} is TaskMapper as it is now. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} for bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperLoggingBenchmark {
+
+    private static final Logger legacyLogger = LoggerFactory.getLogger(TaskMapper.class);
+
+    @Param({ "50000" })
+    public int rows;
+
+    @Param({ "DEBUG", "INFO" })
+    public String appLogLevel;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        // Discard output so the benchmark measures event creation and formatting, not the console
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level %logger - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+        context.getLogger("com.ray8118.todo_app").setLevel(Level.toLevel(appLogLevel));
+
+        tasks = new ArrayList<>(rows);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < rows; i++) {
+            Task task = new Task("Benchmark task " + i, "Generated description " + i, today.plusDays(i % 365));
+            task.setTodo_id(i + 1);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public List<TaskResponse> legacy() {
+        return tasks.stream().map(MapperLoggingBenchmark::legacyToResponse).toList();
+    }
+
+    @Benchmark
+    public List<TaskResponse> current() {
+        return tasks.stream().map(TaskMapper::toResponse).toList();
+    }
+
+    private static TaskResponse legacyToResponse(Task task) {
+        legacyLogger.debug("Mapping Task entity to TaskResponse: {}", task.getTitle());
+        TaskResponse response = new TaskResponse(task.getTodo_id(), task.getTitle(), task.getDescription(),
+                task.isCompleted(), task.getDueDate());
+        legacyLogger.debug("Mapped TaskResponse: {}", response.getTitle());
+        return response;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * {@code GET /tasks/filter?completed=false} over HTTP with the response cache on and off, for a
+ * client that accepts gzip and one that does not. Nothing is written during the run, so with the
+ * cache on every request after the first is a hit. The bytes on the wire are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ResponseCacheBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean responseCache;
+
+    @Param({ "gzip", "identity" })
+    public String encoding;
+
+    @Param({ "10000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplications.start(true, Map.of(
+                "todo.response-cache.enabled", responseCache,
+                "todo.cache.tasks.maximum-size", 0));
+        BenchmarkApplications.seed(context.getBean(TaskService.class), rows);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks/filter?completed=false"))
+                .header("Accept-Encoding", encoding)
+                .GET()
+                .build();
+        System.out.printf("%n%d bytes per response%n", filterOpenTasks());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int filterOpenTasks() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+}
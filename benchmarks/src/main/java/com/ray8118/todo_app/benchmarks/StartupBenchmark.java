@@ -0,0 +1,103 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time from launching a new JVM until the application has started and is serving, as a replica
+ * added under load experiences it. Needs the output of {@code mvn -Pfast-start package} in the
+ * application's {@code target} directory (override with -Dbench.app.dir), and a PostgreSQL database
+ * the application can start against (-Dbench.jdbc.url/.username/.password, defaulting to the
+ * application's own settings).
+ *
+ * <ul>
+ * <li>{@code default}: the executable jar as built, default profile</li>
+ * <li>{@code profile}: the extracted jar with the {@code fast-start} profile</li>
+ * <li>{@code aot-cds}: additionally with AOT-generated bean definitions and the CDS archive</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String STARTED = "Started TodoAppApplication";
+    private static final String JAR = "todo-app-0.0.1-SNAPSHOT-exec.jar";
+
+    @Param({ "default", "profile", "aot-cds" })
+    public String mode;
+
+    private Process process;
+
+    @Benchmark
+    public void startUntilServing() throws IOException {
+        process = new ProcessBuilder(command()).redirectErrorStream(true).start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.contains(STARTED)) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("Application exited with " + process.exitValue() + " before starting");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private List<String> command() {
+        File appDir = new File(System.getProperty("bench.app.dir", "../target"));
+        File fastStartDir = new File(appDir, "fast-start");
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        switch (mode) {
+        case "default" -> command.addAll(List.of("-jar", new File(appDir, JAR).getPath()));
+        case "profile" -> command.addAll(List.of("-jar", new File(fastStartDir, JAR).getPath(),
+                "--spring.profiles.active=fast-start"));
+        case "aot-cds" -> command.addAll(List.of(
+                "-XX:SharedArchiveFile=" + new File(fastStartDir, "application.jsa").getPath(), "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "-jar", new File(fastStartDir, JAR).getPath(),
+                "--spring.profiles.active=fast-start"));
+        default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        command.add("--server.port=0");
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--logging.level.com.ray8118.todo_app=INFO");
+        String jdbcUrl = System.getProperty("bench.jdbc.url");
+        if (jdbcUrl != null) {
+            command.add("--spring.datasource.url=" + jdbcUrl);
+            command.add("--spring.datasource.username=" + System.getProperty("bench.jdbc.username", "postgres"));
+            command.add("--spring.datasource.password=" + System.getProperty("bench.jdbc.password", ""));
+        }
+        return command;
+    }
+}
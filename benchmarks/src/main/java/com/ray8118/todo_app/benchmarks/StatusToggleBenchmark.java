@@ -0,0 +1,101 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.TaskRepository;
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * Latency of flipping a task's status: the single UPDATE ... RETURNING statement against the
+ * previous findById + save round trips. Both run in one transaction per call, from four threads
+ * over a small hot set of ids so that they contend for the same rows.
+ *
+ * <p>UPDATE ... RETURNING is PostgreSQL syntax, so this benchmark needs -Dbench.jdbc.url.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class StatusToggleBenchmark {
+
+    @Param({ "16" })
+    public int hotRows;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate transactionTemplate;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (System.getProperty("bench.jdbc.url") == null) {
+            throw new IllegalStateException("StatusToggleBenchmark needs PostgreSQL: pass -Dbench.jdbc.url");
+        }
+        context = BenchmarkApplications.start(false, Map.of());
+        taskRepository = context.getBean(TaskRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        TaskService taskService = context.getBean(TaskService.class);
+        ids = new int[hotRows];
+        for (int i = 0; i < hotRows; i++) {
+            ids[i] = taskService.createTask(BenchmarkApplications.request(i)).getTodo_id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse atomicToggle() {
+        int id = randomId();
+        return transactionTemplate.execute(status -> taskRepository.toggleCompleted(id).orElseThrow());
+    }
+
+    // With @Version a lost race fails at flush instead of silently losing the toggle; retrying is
+    // the price the old path pays under contention
+    @Benchmark
+    public Task readModifyWriteToggle() {
+        int id = randomId();
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Task task = taskRepository.findById(id).orElseThrow();
+                    task.setCompleted(!task.isCompleted());
+                    return taskRepository.saveAndFlush(task);
+                });
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                // another thread toggled the row between our read and write
+            }
+        }
+    }
+
+    private int randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,128 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import com.ray8118.todo_app.dto.TaskQuery;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * The same service calls on the JPA engine and the in-memory engine ({@code todo.storage.engine}).
+ * Both the service cache and the Hibernate second-level cache are switched off, so the JPA numbers
+ * are database round trips. Ids are drawn from the rows this benchmark seeded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageEngineBenchmark {
+
+    @Param({ "jpa", "memory" })
+    public String engine;
+
+    @Param({ "10000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private int[] ids;
+    private TaskQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("todo.cache.tasks.maximum-size", "0");
+        overrides.put("spring.jpa.properties.hibernate.cache.use_second_level_cache", "false");
+        if ("memory".equals(engine)) {
+            overrides.put("spring.profiles.active", "memory");
+        }
+        context = BenchmarkApplications.start(false, overrides);
+        taskService = context.getBean(TaskService.class);
+        int[] lastExisting = { 0 };
+        taskService.streamAllTasks(task -> lastExisting[0] = task.getTodo_id());
+        BenchmarkApplications.seed(taskService, rows);
+        List<Integer> seeded = new ArrayList<>(rows);
+        taskService.streamAllTasks(task -> {
+            if (task.getTodo_id() > lastExisting[0]) {
+                seeded.add(task.getTodo_id());
+            }
+        });
+        ids = seeded.stream().mapToInt(Integer::intValue).toArray();
+
+        query = new TaskQuery();
+        query.setCompleted(false);
+        query.setDueFrom(LocalDate.now().plusDays(30));
+        query.setDueTo(LocalDate.now().plusDays(60));
+        query.setSort("dueDate");
+        query.setLimit(100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse getTaskOrThrow() {
+        return taskService.getTaskOrThrow(randomId());
+    }
+
+    @Benchmark
+    public List<TaskResponse> filterTasksByStatus() {
+        return taskService.filterTasksByStatus(false);
+    }
+
+    @Benchmark
+    public List<TaskResponse> getTasksDueBetween() {
+        LocalDate from = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(300));
+        return taskService.getTasksDueBetween(from, from.plusDays(30), false, Sort.Direction.ASC, 0, 50);
+    }
+
+    @Benchmark
+    public List<TaskResponse> searchTasksByTitle() {
+        return taskService.searchTasksByTitle("task 12" + ThreadLocalRandom.current().nextInt(10), 0, 20);
+    }
+
+    @Benchmark
+    public List<TaskResponse> queryTasks() {
+        return taskService.queryTasks(query);
+    }
+
+    @Benchmark
+    public TaskResponse updateStatus() {
+        return taskService.updateStatus(randomId());
+    }
+
+    @Benchmark
+    public TaskResponse createTask() {
+        return taskService.createTask(BenchmarkApplications.request(ThreadLocalRandom.current().nextInt(1000)));
+    }
+
+    private int randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
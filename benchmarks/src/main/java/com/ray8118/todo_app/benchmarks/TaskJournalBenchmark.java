@@ -0,0 +1,165 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.InMemoryTaskStore;
+import com.ray8118.todo_app.repository.TaskJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Durability cost of the in-memory engine's {@link TaskJournal}: status-toggle throughput under
+ * each fsync policy, and the time to rebuild the store from the log alone or from a snapshot.
+ * Files go to a temporary directory, or to -Dbench.journal.dir to measure a particular device.
+ * Run the write benchmark with {@code -t 16} to see group commit at work. The store is on the heap,
+ * so the 10M-task recovery needs about 3 GB ({@code -jvmArgs -Xmx3g}).
+ */
+@Fork(1)
+public class TaskJournalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Writes {
+
+        @Param({ "always", "interval", "never" })
+        public String fsync;
+
+        @Param({ "1000000" })
+        public int tasks;
+
+        Path directory;
+        TaskJournal journal;
+        InMemoryTaskStore store;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = directory();
+            journal = journal(directory, TaskJournal.FsyncPolicy.valueOf(fsync.toUpperCase()));
+            store = new InMemoryTaskStore(journal);
+            seed(store, tasks);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recovery {
+
+        @Param({ "1000000", "10000000" })
+        public int tasks;
+
+        @Param({ "log", "snapshot" })
+        public String source;
+
+        Path directory;
+        TaskJournal journal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = directory();
+            try (TaskJournal writer = journal(directory, TaskJournal.FsyncPolicy.NEVER)) {
+                InMemoryTaskStore store = new InMemoryTaskStore(writer);
+                seed(store, tasks);
+                if ("snapshot".equals(source)) {
+                    writer.compact();
+                }
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeJournal() throws IOException {
+            journal.close();
+            journal = null;
+            System.gc();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Task updateStatus(Writes writes) {
+        int id = ThreadLocalRandom.current().nextInt(1, writes.tasks + 1);
+        return writes.store.update(id, task -> {
+            task.setCompleted(!task.isCompleted());
+            return true;
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public InMemoryTaskStore recover(Recovery recovery) throws IOException {
+        recovery.journal = journal(recovery.directory, TaskJournal.FsyncPolicy.NEVER);
+        return new InMemoryTaskStore(recovery.journal);
+    }
+
+    private static TaskJournal journal(Path directory, TaskJournal.FsyncPolicy fsyncPolicy) throws IOException {
+        // Compaction only where a benchmark asks for it
+        return new TaskJournal(directory, fsyncPolicy, Duration.ofMillis(100), Long.MAX_VALUE,
+                new SimpleMeterRegistry());
+    }
+
+    private static void seed(InMemoryTaskStore store, int tasks) {
+        LocalDate today = LocalDate.now();
+        int chunk = 10_000;
+        for (int from = 0; from < tasks; from += chunk) {
+            List<Task> drafts = new ArrayList<>(chunk);
+            for (int i = from; i < Math.min(from + chunk, tasks); i++) {
+                drafts.add(new Task("Task " + i, "Generated task " + i, today.plusDays(i % 365)));
+            }
+            store.insertAll(drafts);
+        }
+    }
+
+    private static Path directory() throws IOException {
+        String configured = System.getProperty("bench.journal.dir");
+        return configured == null
+                ? Files.createTempDirectory("task-journal")
+                : Files.createDirectories(Path.of(configured));
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.mapper.TaskMapper;
+import com.ray8118.todo_app.model.Task;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private TaskRequest request;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkApplications.request(42);
+        task = new Task("Benchmark task", "Generated description for a benchmark task", LocalDate.now());
+        task.setTodo_id(42);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return TaskMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public TaskResponse toResponse() {
+        return TaskMapper.toResponse(task);
+    }
+}
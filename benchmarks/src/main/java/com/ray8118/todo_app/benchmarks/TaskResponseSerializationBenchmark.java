@@ -0,0 +1,108 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ray8118.todo_app.config.TaskBinaryMessageConverter;
+import com.ray8118.todo_app.dto.TaskResponse;
+
+/**
+ * Encoding of task lists in each wire format, with the same module setup Spring Boot uses for
+ * responses: {@code bean} is Jackson's reflective serializer with the {@code @JsonFormat} date
+ * pattern, {@code json} the precompiled {@code TaskResponseSerializer}, {@code cbor} the same
+ * serializer on a CBOR generator, and {@code binary} the {@code application/x-todo-tasks} format.
+ * Divide the score by {@code size} for the time per row; the encoded bytes per row are printed
+ * during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseSerializationBenchmark {
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialized {
+    }
+
+    private static final Type TASK_LIST = new ParameterizedTypeReference<List<TaskResponse>>() {
+    }.getType();
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int size;
+
+    @Param({ "bean", "json", "cbor", "binary" })
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private TaskBinaryMessageConverter binaryConverter;
+    private List<TaskResponse> tasks;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "bean" -> Jackson2ObjectMapperBuilder.json().mixIn(TaskResponse.class, BeanSerialized.class).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        binaryConverter = new TaskBinaryMessageConverter();
+        tasks = new ArrayList<>(size);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskResponse(i + 1, "Benchmark task " + i,
+                    "Generated description for benchmark task number " + i, i % 2 == 0, today.plusDays(i % 365)));
+        }
+        System.out.printf("%n%s: %.1f bytes per row%n", format, (double) writeList() / size);
+    }
+
+    // Every format writes to the same reused stream, as a response body would, so buffer growth
+    // is not part of the score
+    @Benchmark
+    public int writeList() throws IOException {
+        body.reset();
+        if (!"binary".equals(format)) {
+            objectMapper.writeValue(body, tasks);
+            return body.size();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        binaryConverter.write(tasks, TASK_LIST, null, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        return body.size();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.config.CacheConfig;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * End-to-end service calls (proxies, transactions, JPA, JDBC) against a seeded embedded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({ "10000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Cache taskCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplications.start(false, Map.of());
+        taskService = context.getBean(TaskService.class);
+        taskCache = context.getBean(CacheManager.class).getCache(CacheConfig.TASKS_CACHE);
+        BenchmarkApplications.seed(taskService, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse getTaskOrThrowCached() {
+        return taskService.getTaskOrThrow(randomId());
+    }
+
+    @Benchmark
+    public TaskResponse getTaskOrThrowUncached() {
+        int id = randomId();
+        taskCache.evict(id);
+        return taskService.getTaskOrThrow(id);
+    }
+
+    @Benchmark
+    public TaskPage getTasksPage() {
+        return taskService.getTasksPage(null, 100);
+    }
+
+    @Benchmark
+    public List<TaskResponse> filterTasksByStatus() {
+        return taskService.filterTasksByStatus(false);
+    }
+
+    @Benchmark
+    public TaskResponse createTask() {
+        return taskService.createTask(BenchmarkApplications.request(ThreadLocalRandom.current().nextInt(1000)));
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, rows + 1);
+    }
+}
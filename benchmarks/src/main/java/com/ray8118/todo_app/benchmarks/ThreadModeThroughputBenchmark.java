@@ -0,0 +1,78 @@
+package com.ray8118.todo_app.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ray8118.todo_app.service.TaskService;
+
+/**
+ * HTTP throughput of a DB-bound endpoint with Tomcat on platform threads versus the
+ * virtual-threads profile. Many client threads against a deliberately small Tomcat pool show
+ * where request threads, rather than connections, become the limit. Point -Dbench.jdbc.url at
+ * PostgreSQL for numbers with real network latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(128)
+@Fork(1)
+public class ThreadModeThroughputBenchmark {
+
+    @Param({ "platform", "virtual" })
+    public String threadMode;
+
+    @Param({ "50" })
+    public int tomcatMaxThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadMode);
+        context = BenchmarkApplications.start(true, Map.of(
+                "server.tomcat.threads.max", tomcatMaxThreads,
+                "spring.threads.virtual.enabled", virtual,
+                "todo.db.concurrency-limit.enabled", virtual,
+                "todo.response-cache.enabled", false));
+        BenchmarkApplications.seed(context.getBean(TaskService.class), 10_000);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        pageRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?limit=50")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int pageOfTasks() throws Exception {
+        return client.send(pageRequest, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
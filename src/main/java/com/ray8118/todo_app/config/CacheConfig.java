@@ -0,0 +1,39 @@
+package com.ray8118.todo_app.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching(order = CacheConfig.CACHE_ADVICE_ORDER)
+public class CacheConfig {
+
+    public static final String TASKS_CACHE = "tasks";
+
+    // Ahead of the transaction advice (lowest precedence), leaving room for advice that should only
+    // run on a cache miss
+    static final int CACHE_ADVICE_ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+    // Puts and evictions are deferred until the surrounding transaction commits,
+    // so a rolled-back write never leaves a stale entry behind.
+    @Bean
+    public CacheManager cacheManager(@Value("${todo.cache.tasks.maximum-size:10000}") long maximumSize,
+            @Value("${todo.cache.tasks.ttl:60s}") Duration ttl) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TASKS_CACHE);
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
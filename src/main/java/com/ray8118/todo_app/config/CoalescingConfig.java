@@ -0,0 +1,44 @@
+package com.ray8118.todo_app.config;
+
+import java.time.Duration;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import com.ray8118.todo_app.service.Coalesced;
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.coalescing.enabled", havingValue = "true")
+public class CoalescingConfig {
+
+    /**
+     * Adds {@link TaskReadCoalescer} to the {@link Coalesced} methods of the {@link TaskService}
+     * beans, inside the cache advice ({@link CacheConfig}) and outside the transaction advice. A
+     * cache hit therefore never reaches it, or the data version query it makes, and only the shared
+     * call opens a transaction. {@code TaskServiceMetricsPostProcessor} still wraps the whole proxy
+     * and times the wait of the callers that joined.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor taskReadCoalescerAdvisor(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${todo.coalescing.timeout:5s}") Duration timeout) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new ComposablePointcut(
+                new RootClassFilter(TaskService.class), new AnnotationMethodMatcher(Coalesced.class, true)),
+                new TaskReadCoalescer(meterRegistry, timeout));
+        advisor.setOrder(CacheConfig.CACHE_ADVICE_ORDER + 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ray8118.todo_app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.db.pool.auto-size", havingValue = "true")
+public class ConnectionPoolSizingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolSizingConfig.class);
+
+    static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    // Sizes the pool before anything (the concurrency limiter, the async executor) reads its size.
+    // An explicit spring.datasource.hikari.maximum-pool-size always wins.
+    @Bean
+    public static BeanPostProcessor connectionPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+                    int size = poolSize(environment);
+                    hikari.setMaximumPoolSize(size);
+                    logger.info("Sized connection pool '{}' to {} connections", beanName, size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * {@code database cores * 2 + effective spindles}, the usual starting point for a pool that
+     * keeps the database busy without queueing inside it, capped by this instance's share of the
+     * server's {@code max_connections}.
+     */
+    static int poolSize(Environment environment) {
+        int databaseCores = environment.getProperty("todo.db.pool.database-cores", Integer.class,
+                Runtime.getRuntime().availableProcessors());
+        int effectiveSpindles = environment.getProperty("todo.db.pool.effective-spindles", Integer.class, 1);
+        int maxConnections = environment.getProperty("todo.db.pool.max-connections", Integer.class, 100);
+        int reservedConnections = environment.getProperty("todo.db.pool.reserved-connections", Integer.class, 10);
+        int instances = environment.getProperty("todo.db.pool.instances", Integer.class, 1);
+
+        int byCores = databaseCores * 2 + effectiveSpindles;
+        int byServerLimit = (maxConnections - reservedConnections) / Math.max(instances, 1);
+        return Math.max(1, Math.min(byCores, byServerLimit));
+    }
+}
@@ -0,0 +1,51 @@
+package com.ray8118.todo_app.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.db.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConcurrencyConfig.class);
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int poolSize = (bean instanceof HikariDataSource hikari) ? hikari.getMaximumPoolSize() : Integer.MAX_VALUE;
+                int limit = environment.getProperty("todo.db.concurrency-limit.max-concurrent", Integer.class, poolSize);
+                if (limit > poolSize) {
+                    // More permits than connections would just move the queue back into the pool
+                    logger.warn("todo.db.concurrency-limit.max-concurrent={} exceeds the pool size {}; using {}",
+                            limit, poolSize, poolSize);
+                    limit = poolSize;
+                }
+                Duration timeout = environment.getProperty("todo.db.concurrency-limit.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(5));
+                logger.info("Limiting concurrent database access on '{}' to {} (acquire timeout {})",
+                        beanName, limit, timeout);
+                return new ConcurrencyLimitingDataSource(dataSource, limit, timeout, meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.ray8118.todo_app.config;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Logs the connection pool, driver and Hibernate settings actually in effect once the application
+ * is up, so a deployment can be checked against its profile without attaching a debugger.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class DatabaseSettingsReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSettingsReport.class);
+
+    private static final String[] HIBERNATE_SETTINGS = {
+            "hibernate.jdbc.batch_size", "hibernate.jdbc.fetch_size", "hibernate.order_inserts",
+            "hibernate.order_updates", "hibernate.query.in_clause_parameter_padding",
+            "hibernate.cache.use_second_level_cache", "hibernate.cache.use_query_cache", "hibernate.show_sql",
+            "hibernate.format_sql" };
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DatabaseSettingsReport(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        HikariDataSource hikari = unwrapHikari();
+        if (hikari != null) {
+            logger.info("Connection pool '{}': maximumPoolSize={}, minimumIdle={}, connectionTimeout={}ms, "
+                    + "idleTimeout={}ms, maxLifetime={}ms, leakDetectionThreshold={}ms",
+                    hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                    hikari.getConnectionTimeout(), hikari.getIdleTimeout(), hikari.getMaxLifetime(),
+                    hikari.getLeakDetectionThreshold());
+            logger.info("JDBC driver properties: {}", withoutSecrets(hikari.getDataSourceProperties()));
+        }
+        Map<String, Object> properties = entityManagerFactory.getProperties();
+        Map<String, Object> hibernate = new TreeMap<>();
+        for (String setting : HIBERNATE_SETTINGS) {
+            hibernate.put(setting, properties.getOrDefault(setting, "(default)"));
+        }
+        logger.info("Hibernate settings: {}", hibernate);
+    }
+
+    private HikariDataSource unwrapHikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private static Map<Object, Object> withoutSecrets(Properties properties) {
+        Map<Object, Object> visible = new TreeMap<>(properties);
+        visible.keySet().removeIf(key -> key.toString().toLowerCase().contains("password"));
+        return visible;
+    }
+}
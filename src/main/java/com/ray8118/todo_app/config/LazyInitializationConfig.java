@@ -0,0 +1,44 @@
+package com.ray8118.todo_app.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.startup.lazy-packages")
+public class LazyInitializationConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyInitializationConfig.class);
+
+    // Marks only the listed packages lazy (the OpenAPI UI, say) rather than using
+    // spring.main.lazy-initialization, which would also defer the scheduled and event-driven
+    // beans that have to run without ever being injected anywhere
+    @Bean
+    public static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        List<String> packages = List.of(environment.getRequiredProperty("todo.startup.lazy-packages", String[].class));
+        return beanFactory -> {
+            int lazy = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = definition.getBeanClassName();
+                // @Bean methods have no class name of their own; use the configuration that declares them
+                if (className == null && definition.getFactoryBeanName() != null
+                        && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+                    className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+                }
+                if (className != null && packages.stream().anyMatch(className::startsWith)) {
+                    definition.setLazyInit(true);
+                    lazy++;
+                }
+            }
+            logger.debug("Marked {} beans in {} for lazy initialization", lazy, packages);
+        };
+    }
+}
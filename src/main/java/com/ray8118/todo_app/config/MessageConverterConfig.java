@@ -0,0 +1,18 @@
+package com.ray8118.todo_app.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    // Appended after the Jackson converters rather than declared as a bean, which Boot would put
+    // first: a client that sends Accept: */* keeps getting JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new TaskBinaryMessageConverter());
+    }
+}
@@ -0,0 +1,36 @@
+package com.ray8118.todo_app.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.response-cache.enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    // Registered for the list paths only; servlet mappings match them exactly, so
+    // /tasks/{id} and /tasks/overdue (which also changes at midnight) are never cached
+    @Bean
+    public FilterRegistrationBean<TaskResponseCacheFilter> taskResponseCacheFilter(TaskService taskService,
+            @Value("${todo.response-cache.paths}") List<String> paths,
+            @Value("${todo.response-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${todo.response-cache.max-entry-size:16MB}") DataSize maxEntrySize,
+            @Value("${todo.response-cache.min-compress-size:1KB}") DataSize minCompressSize,
+            @Value("${todo.response-cache.compression-level:6}") int compressionLevel,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<TaskResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new TaskResponseCacheFilter(taskService, maxSize.toBytes(), maxEntrySize.toBytes(),
+                        (int) minCompressSize.toBytes(), compressionLevel, meterRegistry));
+        registration.setUrlPatterns(paths);
+        return registration;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ray8118.todo_app.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ServiceMetricsConfig {
+
+    // The registry is looked up on first use: resolving it while post-processors are being created
+    // would initialize it before its own customizers run
+    @Bean
+    public static TaskServiceMetricsPostProcessor taskServiceMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${todo.metrics.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        return new TaskServiceMetricsPostProcessor(new TaskServiceMetrics(meterRegistry, nPlusOneThreshold));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Adds {@link TaskServiceMetrics} to the {@link TaskService} beans' existing proxies, ahead of
+     * the transaction and cache advice, so commit time and cache hits are part of the measured call.
+     */
+    static class TaskServiceMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        TaskServiceMetricsPostProcessor(TaskServiceMetrics metrics) {
+            this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(new RootClassFilter(TaskService.class)),
+                    metrics);
+            setBeforeExistingAdvisors(true);
+            setProxyTargetClass(true);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ray8118.todo_app.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Scope} is
+ * open, per distinct statement text, so a caller can tell how many round trips a unit of work made
+ * and whether one statement was repeated row by row (an N+1 pattern). Statements issued through
+ * {@code JdbcTemplate} bypass Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /** Opens a scope on this thread; its counts are added to the enclosing scope when closed. */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql, 1);
+        }
+        return sql;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int statements;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        /** The statement prepared most often in this scope, or null if none was. */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return counts.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        private void record(String sql, int times) {
+            statements += times;
+            counts.merge(sql, times, Integer::sum);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+                return;
+            }
+            CURRENT.set(parent);
+            counts.forEach(parent::record);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.ray8118.todo_app.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+
+/**
+ * Writes {@code List<TaskResponse>} as {@value #MEDIA_TYPE_VALUE}, for service-to-service clients
+ * that would otherwise parse large JSON arrays. All numbers are big-endian:
+ *
+ * <pre>
+ * int count
+ * count x { int todo_id, byte flags (1 = completed, 2 = has due date), [int due date as epoch day],
+ *           string title, string description }
+ * string = int UTF-8 byte length (-1 for null), bytes
+ * </pre>
+ *
+ * The task version is not included, as in JSON. Nothing accepts the format as a request body, so
+ * there is no reader to trust the lengths on the wire.
+ */
+public class TaskBinaryMessageConverter extends AbstractGenericHttpMessageConverter<List<TaskResponse>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-todo-tasks";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int COMPLETED = 1;
+    private static final int HAS_DUE_DATE = 2;
+
+    public TaskBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    // Only a List<TaskResponse> can be handled, so a raw List without its element type is refused
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isTaskList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    private static boolean isTaskList(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass())
+                && resolved.getGeneric(0).toClass() == TaskResponse.class;
+    }
+
+    @Override
+    public List<TaskResponse> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException(MEDIA_TYPE_VALUE + " is only written", inputMessage);
+    }
+
+    @Override
+    protected List<TaskResponse> readInternal(Class<? extends List<TaskResponse>> clazz,
+            HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException(MEDIA_TYPE_VALUE + " is only written", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(List<TaskResponse> tasks, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        // Encoded into a plain array rather than through DataOutputStream, whose buffered stream
+        // takes a lock for every field
+        Encoder out = new Encoder(outputMessage.getBody());
+        out.writeInt(tasks.size());
+        for (TaskResponse task : tasks) {
+            out.ensure(9);
+            out.writeInt(task.getTodo_id());
+            LocalDate dueDate = task.getDueDate();
+            out.writeByte((task.isCompleted() ? COMPLETED : 0) | (dueDate != null ? HAS_DUE_DATE : 0));
+            if (dueDate != null) {
+                out.writeInt(Math.toIntExact(dueDate.toEpochDay()));
+            }
+            out.writeString(task.getTitle());
+            out.writeString(task.getDescription());
+        }
+        out.flush();
+    }
+
+    private static final class Encoder {
+        private final OutputStream body;
+        private final byte[] buffer = new byte[8192];
+        private int position;
+
+        Encoder(OutputStream body) {
+            this.body = body;
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.length - position < bytes) {
+                flush();
+            }
+        }
+
+        void writeByte(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            buffer[position] = (byte) (value >>> 24);
+            buffer[position + 1] = (byte) (value >>> 16);
+            buffer[position + 2] = (byte) (value >>> 8);
+            buffer[position + 3] = (byte) value;
+            position += 4;
+        }
+
+        void writeString(String value) throws IOException {
+            ensure(4);
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            if (bytes.length > buffer.length - position) {
+                flush();
+                if (bytes.length > buffer.length) {
+                    body.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void flush() throws IOException {
+            body.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ray8118.todo_app.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.ray8118.todo_app.repository.TaskJournal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "memory")
+public class TaskJournalConfig {
+
+    // Closed after the store that writes to it, which flushes whatever is still buffered
+    @Bean
+    @ConditionalOnProperty(name = "todo.storage.journal.enabled", havingValue = "true")
+    public TaskJournal taskJournal(@Value("${todo.storage.journal.dir:data/tasks}") String directory,
+            @Value("${todo.storage.journal.fsync:always}") TaskJournal.FsyncPolicy fsyncPolicy,
+            @Value("${todo.storage.journal.fsync-interval:100ms}") Duration fsyncInterval,
+            @Value("${todo.storage.journal.compact-after:64MB}") DataSize compactAfter,
+            MeterRegistry meterRegistry) throws IOException {
+        return new TaskJournal(Path.of(directory), fsyncPolicy, fsyncInterval, compactAfter.toBytes(),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,145 @@
+package com.ray8118.todo_app.config;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight for {@link com.ray8118.todo_app.service.Coalesced} service methods: while a call is
+ * running, identical calls (same method, equal arguments) wait for it and return its result or
+ * rethrow its exception instead of running their own query. A waiting caller gives up after
+ * {@code timeout} with a {@link QueryTimeoutException}; the running call is not affected.
+ *
+ * <p>Calls only share a flight that started at the same {@link TaskService#getTasksVersion()}, read
+ * on entry. A caller that arrives after a write has committed therefore starts a new call instead
+ * of waiting for one that may have read the rows before the write.
+ *
+ * <p>Calls made inside a transaction are never shared, since they may need to see the
+ * transaction's own uncommitted writes.
+ *
+ * <p>Meters: {@code todo.coalescing.absorbed} (distribution summary of the callers that shared each
+ * execution) and {@code todo.coalescing.timeouts} (counter), both tagged with the service method.
+ */
+public class TaskReadCoalescer implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReadCoalescer.class);
+
+    private record Key(Method method, List<Object> arguments, long version) {
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger followers = new AtomicInteger();
+
+        private Flight join() {
+            followers.incrementAndGet();
+            return this;
+        }
+    }
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration timeout;
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public TaskReadCoalescer(ObjectProvider<MeterRegistry> meterRegistry, Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        long version = ((TaskService) invocation.getThis()).getTasksVersion();
+        Key key = new Key(invocation.getMethod(), Arrays.asList(invocation.getArguments()), version);
+        Flight candidate = new Flight();
+        // merge is atomic per key, so a caller either starts the flight or is counted as joining it
+        Flight flight = inFlight.merge(key, candidate, (running, ignored) -> running.join());
+        if (flight != candidate) {
+            return await(flight, invocation.getMethod());
+        }
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            land(key, flight);
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        }
+        land(key, flight);
+        flight.result.complete(result);
+        return result;
+    }
+
+    // Removed before the result is published, so a caller that arrives once the result exists starts
+    // a new call instead of picking up a finished one
+    private void land(Key key, Flight flight) {
+        inFlight.remove(key, flight);
+        Meters methodMeters = meters(key.method());
+        if (methodMeters != null) {
+            methodMeters.absorbed.record(flight.followers.get());
+        }
+    }
+
+    private Object await(Flight flight, Method method) throws Throwable {
+        try {
+            return flight.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            Meters methodMeters = meters(method);
+            if (methodMeters != null) {
+                methodMeters.timeouts.increment();
+            }
+            logger.warn("Gave up after {} waiting for a shared call to TaskService.{}", timeout, method.getName());
+            throw new QueryTimeoutException("Timed out after " + timeout + " waiting for TaskService."
+                    + method.getName());
+        }
+    }
+
+    private Meters meters(Method method) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry == null ? null : meters.computeIfAbsent(method, m -> new Meters(registry, m));
+    }
+
+    private static final class Meters {
+
+        private final DistributionSummary absorbed;
+        private final Counter timeouts;
+
+        private Meters(MeterRegistry registry, Method method) {
+            this.absorbed = DistributionSummary.builder("todo.coalescing.absorbed")
+                    .description("Identical TaskService calls answered by one execution, not counting itself")
+                    .tag("method", method.getName())
+                    .register(registry);
+            this.timeouts = Counter.builder("todo.coalescing.timeouts")
+                    .description("Callers that stopped waiting for a shared TaskService call")
+                    .tag("method", method.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ray8118.todo_app.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the encoded body of list responses, and a gzip copy of it, so a repeated GET is answered
+ * from bytes without calling the controller. Entries are keyed by path, query string and
+ * {@code Accept}, and hold the {@link TaskService#getTasksVersion()} they were built at; any write
+ * makes them stale, and the next request replaces them.
+ */
+public class TaskResponseCacheFilter extends OncePerRequestFilter {
+
+    private record Entry(long version, String contentType, String eTag, byte[] body, byte[] gzipped) {
+
+        int weight(String key) {
+            return 2 * key.length() + body.length + (gzipped != null ? gzipped.length : 0) + 64;
+        }
+    }
+
+    private final TaskService taskService;
+    private final Cache<String, Entry> cache;
+    private final long maxEntrySize;
+    private final int minCompressSize;
+    private final int compressionLevel;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TaskResponseCacheFilter(TaskService taskService, long maxSize, long maxEntrySize, int minCompressSize,
+            int compressionLevel, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .<String, Entry>weigher((key, entry) -> entry.weight(key))
+                .build();
+        this.maxEntrySize = maxEntrySize;
+        this.minCompressSize = minCompressSize;
+        this.compressionLevel = compressionLevel;
+        this.hits = Counter.builder("todo.response-cache.requests")
+                .description("List requests answered by the response cache or passed to the controller")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("todo.response-cache.requests")
+                .description("List requests answered by the response cache or passed to the controller")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("todo.response-cache.hit-ratio", this, TaskResponseCacheFilter::hitRatio)
+                .description("Share of list requests answered from the response cache since startup")
+                .register(meterRegistry);
+        Gauge.builder("todo.response-cache.size", cache,
+                c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Bytes held by the response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The NDJSON stream is written asynchronously and has no size bound
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return !"GET".equals(request.getMethod()) || (accept != null && accept.contains("ndjson"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Read before the controller runs, so the entry never claims a newer version than the rows it
+        // holds. This relies on the version moving only once a write has committed (both trackers do);
+        // a write that commits in between leaves the entry under the older version, and the next
+        // request replaces it
+        long version = taskService.getTasksVersion();
+        String key = key(request);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            write(entry, request, response);
+            return;
+        }
+        misses.increment();
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpStatus.OK.value() || request.isAsyncStarted()
+                || wrapper.getContentSize() > maxEntrySize) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        entry = new Entry(version, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG), body,
+                body.length >= minCompressSize ? gzip(body) : null);
+        cache.put(key, entry);
+        write(entry, request, response);
+    }
+
+    private void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType());
+        response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+        if (entry.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.eTag());
+            if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry.eTag())) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+        byte[] body = entry.body();
+        if (entry.gzipped() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.gzipped();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0.0 : hits.count() / lookups;
+    }
+
+    private static String key(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query != null ? "?" + query : "") + " " + (accept != null ? accept : "");
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") && !acceptEncoding.contains("gzip;q=0");
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ray8118.todo_app.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every {@link com.ray8118.todo_app.service.TaskService} call and records how many SQL
+ * statements it issued. A call that prepares the same statement {@code nPlusOneThreshold} times or
+ * more is counted as a suspected N+1 and logged with the repeated statement.
+ *
+ * <p>Meters: {@code todo.service} (timer), {@code todo.service.statements} (distribution summary)
+ * and {@code todo.service.n-plus-one} (counter), all tagged with the service method.
+ */
+public class TaskServiceMetrics implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskServiceMetrics.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int nPlusOneThreshold;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public TaskServiceMetrics(ObjectProvider<MeterRegistry> meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        Meters methodMeters = meters.computeIfAbsent(invocation.getMethod(), method -> new Meters(registry, method));
+        String exception = null;
+        long start = System.nanoTime();
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            scope.close();
+            Timer timer = exception == null ? methodMeters.timer : methodMeters.failureTimer(registry, exception);
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            methodMeters.statements.record(scope.getStatements());
+            checkNPlusOne(methodMeters, scope);
+        }
+    }
+
+    private void checkNPlusOne(Meters methodMeters, SqlStatementCounter.Scope scope) {
+        if (scope.getStatements() < nPlusOneThreshold) {
+            return;
+        }
+        Map.Entry<String, Integer> repeated = scope.mostRepeated();
+        if (repeated.getValue() >= nPlusOneThreshold) {
+            methodMeters.nPlusOne.increment();
+            logger.warn("TaskService.{} prepared the same statement {} times (possible N+1): {}",
+                    methodMeters.method, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private static final class Meters {
+
+        private final String method;
+        private final Timer timer;
+        private final DistributionSummary statements;
+        private final Counter nPlusOne;
+
+        private Meters(MeterRegistry registry, Method method) {
+            this.method = method.getName();
+            this.timer = timer(this.method, "none").register(registry);
+            this.statements = DistributionSummary.builder("todo.service.statements")
+                    .description("SQL statements issued per TaskService call")
+                    .tag("method", this.method)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.nPlusOne = Counter.builder("todo.service.n-plus-one")
+                    .description("TaskService calls that repeated one statement at least the N+1 threshold")
+                    .tag("method", this.method)
+                    .register(registry);
+        }
+
+        private Timer failureTimer(MeterRegistry registry, String exception) {
+            return timer(method, exception).register(registry);
+        }
+
+        private static Timer.Builder timer(String method, String exception) {
+            return Timer.builder("todo.service")
+                    .description("TaskService call duration, including its transaction")
+                    .tags("method", method, "exception", exception)
+                    .publishPercentileHistogram();
+        }
+    }
+}
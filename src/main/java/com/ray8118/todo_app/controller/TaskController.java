@@ -1,11 +1,22 @@
 package com.ray8118.todo_app.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,89 +24,390 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ray8118.todo_app.config.TaskBinaryMessageConverter;
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
 import com.ray8118.todo_app.dto.TaskRequest;
 import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.exception.InvalidQueryException;
+import com.ray8118.todo_app.exception.TaskVersionMismatchException;
+import com.ray8118.todo_app.service.AsyncTaskService;
+import com.ray8118.todo_app.service.TaskEventBroadcaster;
 import com.ray8118.todo_app.service.TaskService;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
 public class TaskController {
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    // What the converters can write, in the order they are tried
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+    private static final List<MediaType> TASK_LIST_FORMATS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, TaskBinaryMessageConverter.MEDIA_TYPE);
+
     private final TaskService taskService;
+    private final AsyncTaskService asyncTaskService;
+    private final TaskEventBroadcaster eventBroadcaster;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ContentNegotiationManager contentNegotiationManager;
 
-    public TaskController(TaskService taskService) {
+    // Single-task endpoints return futures: the request thread goes back to Tomcat while the
+    // database call runs on the AsyncTaskService executor
+    public TaskController(TaskService taskService, AsyncTaskService asyncTaskService,
+            TaskEventBroadcaster eventBroadcaster, ObjectMapper objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry, ContentNegotiationManager contentNegotiationManager) {
         this.taskService = taskService;
+        this.asyncTaskService = asyncTaskService;
+        this.eventBroadcaster = eventBroadcaster;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.contentNegotiationManager = contentNegotiationManager;
         logger.info("TaskController initialized");
     }
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskResponse>> getTasks() {
+    public ResponseEntity<List<TaskResponse>> getTasks(NativeWebRequest webRequest) {
         logger.info("Received request to get all tasks.");
+        String eTag = listETag(representation(webRequest, TASK_LIST_FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            logger.info("Tasks unchanged since {}, returning 304.", eTag);
+            return null;
+        }
         List<TaskResponse> tasks = taskService.getAllTasks();
-        logger.info("Returning {} tasks.", tasks.size());
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+        recordResultCount("GET /tasks", tasks.size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks").addKeyValue("resultCount", tasks.size())
+                .log("Returning {} tasks.", tasks.size());
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
+    }
+
+    @GetMapping(value = "/tasks", params = "limit")
+    public ResponseEntity<TaskPage> getTasksPage(@RequestParam(required = false) String after,
+            @RequestParam int limit, NativeWebRequest webRequest) {
+        logger.info("Received request to get {} tasks after cursor: {}", limit, after);
+        String eTag = listETag(representation(webRequest, FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskPage page = taskService.getTasksPage(after, limit);
+        recordResultCount("GET /tasks?limit", page.getTasks().size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks?limit").addKeyValue("resultCount", page.getTasks().size())
+                .addKeyValue("hasMore", page.getNextCursor() != null)
+                .log("Returning page of {} tasks.", page.getTasks().size());
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
+
+    @GetMapping(value = "/tasks", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTasks(NativeWebRequest webRequest) {
+        logger.info("Received request to stream all tasks.");
+        webRequest.getNativeResponse(HttpServletResponse.class).setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String eTag = listETag("-x-ndjson");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        StreamingResponseBody body = out -> {
+            // One JSON document per line; rows are written as they are read so heap use stays flat
+            ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n");
+            try (JsonGenerator generator = writer.createGenerator(out)) {
+                taskService.streamAllTasks(task -> {
+                    try {
+                        writer.writeValue(generator, task);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok().eTag(eTag).contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping(path = "/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("Received request to subscribe to task events, Last-Event-ID: {}", lastEventId);
+        return eventBroadcaster.subscribe(lastEventId);
     }
 
     @PostMapping("/tasks")
-    public ResponseEntity<TaskResponse> addTask(@Valid @RequestBody TaskRequest taskRequest) {
+    public CompletableFuture<ResponseEntity<TaskResponse>> addTask(@Valid @RequestBody TaskRequest taskRequest) {
         logger.info("Received request to create task: {}", taskRequest.getTitle());
-        TaskResponse createdTask = taskService.createTask(taskRequest);
-        logger.info("Task created successfully with ID: {}", createdTask.getTodo_id());
-        return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+        return asyncTaskService.createTask(taskRequest).thenApply(createdTask -> {
+            logger.info("Task created successfully with ID: {}", createdTask.getTodo_id());
+            return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+        });
+    }
+
+    @PostMapping("/tasks/batch")
+    public ResponseEntity<List<BatchItemResult>> addTasks(@RequestBody List<TaskRequest> taskRequests) {
+        logger.info("Received request to create {} tasks in batch", taskRequests.size());
+        List<BatchItemResult> results = taskService.createTasks(taskRequests);
+        recordResultCount("POST /tasks/batch", results.size());
+        logger.atInfo().addKeyValue("endpoint", "POST /tasks/batch").addKeyValue("resultCount", results.size())
+                .log("Batch create processed {} items", results.size());
+        return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
     @GetMapping("/tasks/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity<TaskResponse>> getTaskById(@PathVariable Integer id,
+            NativeWebRequest webRequest) {
         logger.info("Received request to get task with ID: {}", id);
-        TaskResponse task = taskService.getTaskOrThrow(id);
-        logger.info("Successfully retrieved task with ID: {}", task);
-        return new ResponseEntity<>(task, HttpStatus.OK);
+        String representation = representation(webRequest, FORMATS);
+        return asyncTaskService.getTaskOrThrow(id).thenApply(task -> {
+            logger.info("Successfully retrieved task with ID: {}", task.getTodo_id());
+            // A matching If-None-Match turns this into a 304 without a body
+            return ResponseEntity.ok().eTag(taskETag(task, representation)).body(task);
+        });
     }
 
     @GetMapping("/tasks/filter")
-    public ResponseEntity<List<TaskResponse>> searchTasks(@RequestParam(required = false) Boolean completed) {
+    public ResponseEntity<List<TaskResponse>> searchTasks(@RequestParam(required = false) Boolean completed,
+            NativeWebRequest webRequest) {
         logger.info("Received request to filter tasks by completed status: {}", completed);
+        String eTag = listETag(representation(webRequest, TASK_LIST_FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         List<TaskResponse> tasks = taskService.filterTasksByStatus(completed);
-        logger.info("Returning {} filtered tasks.", tasks.size());
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+        recordResultCount("GET /tasks/filter", tasks.size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks/filter").addKeyValue("resultCount", tasks.size())
+                .log("Returning {} filtered tasks.", tasks.size());
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
     }
 
     @GetMapping("/tasks/search")
-    public ResponseEntity<List<TaskResponse>> searchTasksByTitle(@RequestParam(required = false) String title) {
+    public ResponseEntity<List<TaskResponse>> searchTasksByTitle(@RequestParam(required = false) String title,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size,
+            NativeWebRequest webRequest) {
         logger.info("Received request to search tasks by title: {}", title);
-        List<TaskResponse> tasks = taskService.searchTasksByTitle(title);
-        logger.info("Returning {} tasks matching title search", tasks);
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+        String eTag = listETag(representation(webRequest, TASK_LIST_FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        List<TaskResponse> tasks = (size == null)
+                ? taskService.searchTasksByTitle(title)
+                : taskService.searchTasksByTitle(title, page, size);
+        recordResultCount("GET /tasks/search", tasks.size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks/search").addKeyValue("resultCount", tasks.size())
+                .log("Returning {} tasks matching title search", tasks.size());
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
+    }
+
+    @GetMapping("/tasks/due")
+    public ResponseEntity<List<TaskResponse>> getTasksDue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean completed,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "100") int size,
+            NativeWebRequest webRequest) {
+        logger.info("Received request to get tasks due between {} and {}", from, to);
+        String eTag = listETag(representation(webRequest, TASK_LIST_FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        List<TaskResponse> tasks = taskService.getTasksDueBetween(from, to, completed, parseOrder(order), page,
+                size);
+        recordResultCount("GET /tasks/due", tasks.size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks/due").addKeyValue("resultCount", tasks.size())
+                .log("Returning {} tasks due between {} and {}", tasks.size(), from, to);
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
+    }
+
+    @GetMapping("/tasks/overdue")
+    public ResponseEntity<List<TaskResponse>> getOverdueTasks(
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "100") int size,
+            NativeWebRequest webRequest) {
+        logger.info("Received request to get overdue tasks");
+        // What is overdue also changes at midnight, not only on writes
+        String eTag = listETag("-" + LocalDate.now() + representation(webRequest, TASK_LIST_FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        List<TaskResponse> tasks = taskService.getOverdueTasks(parseOrder(order), page, size);
+        recordResultCount("GET /tasks/overdue", tasks.size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks/overdue").addKeyValue("resultCount", tasks.size())
+                .log("Returning {} overdue tasks", tasks.size());
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
+    }
+
+    @GetMapping("/tasks/stats")
+    public ResponseEntity<TaskStats> getTaskStats() {
+        logger.info("Received request to get task statistics");
+        return ResponseEntity.ok(taskService.getTaskStats());
+    }
+
+    @GetMapping("/tasks/query")
+    public ResponseEntity<List<TaskResponse>> queryTasks(TaskQuery query, NativeWebRequest webRequest) {
+        logger.info("Received request to query tasks");
+        String eTag = listETag(representation(webRequest, TASK_LIST_FORMATS));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        List<TaskResponse> tasks = taskService.queryTasks(query);
+        recordResultCount("GET /tasks/query", tasks.size());
+        logger.atInfo().addKeyValue("endpoint", "GET /tasks/query").addKeyValue("resultCount", tasks.size())
+                .log("Returning {} tasks matching query", tasks.size());
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
     }
 
     @PutMapping("/tasks/{id}")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable Integer id,
-            @Valid @RequestBody TaskRequest taskDetails) {
+    public CompletableFuture<ResponseEntity<TaskResponse>> updateTask(@PathVariable Integer id,
+            @Valid @RequestBody TaskRequest taskDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            NativeWebRequest webRequest) {
         logger.info("Received request to update task with ID: {} and details : {}", id, taskDetails.getTitle());
-        TaskResponse updatedTask = taskService.updateTask(id, taskDetails);
-        logger.info("Task with ID {} updated", id);
-        return new ResponseEntity<>(updatedTask, HttpStatus.OK);
+        Long expectedVersion = (ifMatch == null) ? null : parseIfMatch(ifMatch);
+        String representation = representation(webRequest, FORMATS);
+        return asyncTaskService.updateTask(id, taskDetails, expectedVersion).thenApply(updatedTask -> {
+            logger.info("Task with ID {} updated", id);
+            return ResponseEntity.ok().eTag(taskETag(updatedTask, representation)).body(updatedTask);
+        });
     }
 
     @PatchMapping("/tasks/{id}/complete")
-    public ResponseEntity<TaskResponse> updateStatus(@PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity<TaskResponse>> updateStatus(@PathVariable Integer id,
+            NativeWebRequest webRequest) {
         logger.info("Received request to update status for task with ID : {}", id);
-        TaskResponse updatedTask = taskService.updateStatus(id);
-        logger.info("Status for task with ID {} updated successfully.", updatedTask.getTodo_id());
-        return new ResponseEntity<>(updatedTask, HttpStatus.OK);
+        String representation = representation(webRequest, FORMATS);
+        return asyncTaskService.updateStatus(id).thenApply(updatedTask -> {
+            logger.info("Status for task with ID {} updated successfully.", updatedTask.getTodo_id());
+            return ResponseEntity.ok().eTag(taskETag(updatedTask, representation)).body(updatedTask);
+        });
+    }
+
+    // Idempotent alternatives to the toggle: repeating either call leaves the task unchanged
+    @PutMapping("/tasks/{id}/completed")
+    public CompletableFuture<ResponseEntity<TaskResponse>> markCompleted(@PathVariable Integer id,
+            NativeWebRequest webRequest) {
+        logger.info("Received request to mark task with ID {} as completed", id);
+        String representation = representation(webRequest, FORMATS);
+        return asyncTaskService.setCompleted(id, true)
+                .thenApply(task -> ResponseEntity.ok().eTag(taskETag(task, representation)).body(task));
+    }
+
+    @DeleteMapping("/tasks/{id}/completed")
+    public CompletableFuture<ResponseEntity<TaskResponse>> markIncomplete(@PathVariable Integer id,
+            NativeWebRequest webRequest) {
+        logger.info("Received request to mark task with ID {} as not completed", id);
+        String representation = representation(webRequest, FORMATS);
+        return asyncTaskService.setCompleted(id, false)
+                .thenApply(task -> ResponseEntity.ok().eTag(taskETag(task, representation)).body(task));
+    }
+
+    @PatchMapping("/tasks/batch/complete")
+    public ResponseEntity<List<BatchItemResult>> completeTasks(@RequestBody List<Integer> ids) {
+        logger.info("Received request to complete {} tasks in batch", ids.size());
+        List<BatchItemResult> results = taskService.completeTasks(ids);
+        recordResultCount("PATCH /tasks/batch/complete", results.size());
+        logger.atInfo().addKeyValue("endpoint", "PATCH /tasks/batch/complete").addKeyValue("resultCount", results.size())
+                .log("Batch complete processed {} items", results.size());
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/tasks/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteTasks(@RequestBody List<Integer> ids) {
+        logger.info("Received request to delete {} tasks in batch", ids.size());
+        List<BatchItemResult> results = taskService.deleteTasks(ids);
+        recordResultCount("DELETE /tasks/batch", results.size());
+        logger.atInfo().addKeyValue("endpoint", "DELETE /tasks/batch").addKeyValue("resultCount", results.size())
+                .log("Batch delete processed {} items", results.size());
+        return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
     @DeleteMapping("/tasks/{id}")
-    public ResponseEntity<Void> deleteTaskById(@PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity<Void>> deleteTaskById(@PathVariable Integer id) {
         logger.info("received request to delete task with ID: {}", id);
-        taskService.deleteTask(id);
-        logger.info("Task with ID {} deleted successfully", id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        return asyncTaskService.deleteTask(id).thenApply(deleted -> {
+            logger.info("Task with ID {} deleted successfully", id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        });
+    }
+
+    private void recordResultCount(String endpoint, int count) {
+        DistributionSummary.builder("todo.tasks.results")
+                .description("Number of items returned by list and batch endpoints")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    // Weak: list bodies are equivalent, not byte-identical, across serializer settings
+    private String listETag(String suffix) {
+        return "W/\"tasks-" + taskService.getTasksVersion() + suffix + "\"";
+    }
+
+    private static String taskETag(TaskResponse task, String representation) {
+        return "\"" + task.getVersion() + representation + "\"";
+    }
+
+    // The same version is a different body in each format, so each gets its own ETag suffix and
+    // caches are told to key on Accept. JSON, the default, has no suffix.
+    private String representation(NativeWebRequest webRequest, List<MediaType> formats) {
+        webRequest.getNativeResponse(HttpServletResponse.class).setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+                for (MediaType format : formats) {
+                    if (accepted.isCompatibleWith(format)) {
+                        return format.equals(MediaType.APPLICATION_JSON) ? "" : "-" + format.getSubtype();
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            // Rejected again, with a 406, when the body is written
+        }
+        return "";
+    }
+
+    private static Sort.Direction parseOrder(String order) {
+        return Sort.Direction.fromOptionalString(order)
+                .orElseThrow(() -> new InvalidQueryException("order must be 'asc' or 'desc', got: " + order));
+    }
+
+    // "*" only requires the task to exist, which updateTask checks anyway
+    private static Long parseIfMatch(String ifMatch) {
+        String value = ifMatch.trim();
+        if ("*".equals(value)) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        // Drops the representation suffix: every format of a version matches it
+        int suffix = value.indexOf('-');
+        if (suffix > 0) {
+            value = value.substring(0, suffix);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new TaskVersionMismatchException("If-Match does not match any version of this task: " + ifMatch);
+        }
     }
 
 }
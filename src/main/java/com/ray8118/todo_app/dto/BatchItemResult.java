@@ -0,0 +1,79 @@
+package com.ray8118.todo_app.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+    }
+
+    private int index;
+    private Integer todo_id;
+    private Status status;
+    private TaskResponse task;
+    private List<String> errors;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, Integer todo_id, Status status, TaskResponse task, List<String> errors) {
+        this.index = index;
+        this.todo_id = todo_id;
+        this.status = status;
+        this.task = task;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult of(int index, Status status, TaskResponse task) {
+        return new BatchItemResult(index, task.getTodo_id(), status, task, null);
+    }
+
+    public static BatchItemResult invalid(int index, Integer todo_id, List<String> errors) {
+        return new BatchItemResult(index, todo_id, Status.INVALID, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getTodo_id() {
+        return todo_id;
+    }
+
+    public void setTodo_id(Integer todo_id) {
+        this.todo_id = todo_id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponse task) {
+        this.task = task;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.ray8118.todo_app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEvent {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    private Type type;
+    private int todo_id;
+    private TaskResponse task;
+
+    public TaskEvent() {
+    }
+
+    public TaskEvent(Type type, int todo_id, TaskResponse task) {
+        this.type = type;
+        this.todo_id = todo_id;
+        this.task = task;
+    }
+
+    public static TaskEvent of(Type type, TaskResponse task) {
+        return new TaskEvent(type, task.getTodo_id(), task);
+    }
+
+    public static TaskEvent deleted(int todo_id) {
+        return new TaskEvent(Type.DELETED, todo_id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getTodo_id() {
+        return todo_id;
+    }
+
+    public void setTodo_id(int todo_id) {
+        this.todo_id = todo_id;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponse task) {
+        this.task = task;
+    }
+
+}
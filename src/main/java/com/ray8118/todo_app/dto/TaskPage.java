@@ -0,0 +1,33 @@
+package com.ray8118.todo_app.dto;
+
+import java.util.List;
+
+public class TaskPage {
+    private List<TaskResponse> tasks;
+    private String nextCursor;
+
+    public TaskPage() {
+    }
+
+    public TaskPage(List<TaskResponse> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+}
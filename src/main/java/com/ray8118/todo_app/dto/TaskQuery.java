@@ -0,0 +1,96 @@
+package com.ray8118.todo_app.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/** Filters for GET /tasks/query; every field is optional and set fields are combined with AND. */
+public class TaskQuery {
+    private Boolean completed;
+    private String title;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private Integer idFrom;
+    private Integer idTo;
+    private String sort = "todo_id";
+    private String order = "asc";
+    private int limit = 100;
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public Integer getIdFrom() {
+        return idFrom;
+    }
+
+    public void setIdFrom(Integer idFrom) {
+        this.idFrom = idFrom;
+    }
+
+    public Integer getIdTo() {
+        return idTo;
+    }
+
+    public void setIdTo(Integer idTo) {
+        this.idTo = idTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getOrder() {
+        return order;
+    }
+
+    public void setOrder(String order) {
+        this.order = order;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+}
@@ -3,7 +3,10 @@ package com.ray8118.todo_app.dto;
 import java.time.LocalDate;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+@JsonSerialize(using = TaskResponseSerializer.class)
 public class TaskResponse {
     private int todo_id;
     private String title;
@@ -13,15 +16,25 @@ public class TaskResponse {
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate dueDate;
 
+    // Sent to clients as the ETag header rather than in the body
+    @JsonIgnore
+    private long version;
+
     public TaskResponse() {
     }
 
     public TaskResponse(int todo_id, String title, String description, boolean isCompleted, LocalDate dueDate) {
+        this(todo_id, title, description, isCompleted, dueDate, 0L);
+    }
+
+    public TaskResponse(int todo_id, String title, String description, boolean isCompleted, LocalDate dueDate,
+            long version) {
         this.todo_id = todo_id;
         this.title = title;
         this.description = description;
         this.isCompleted = isCompleted;
         this.dueDate = dueDate;
+        this.version = version;
     }
 
     public int getTodo_id() {
@@ -64,4 +77,12 @@ public class TaskResponse {
         this.dueDate = dueDate;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
 }
@@ -0,0 +1,51 @@
+package com.ray8118.todo_app.dto;
+
+public class TaskStats {
+    private long total;
+    private long completed;
+    private long open;
+    private long overdue;
+
+    public TaskStats() {
+    }
+
+    public TaskStats(long total, long completed, long open, long overdue) {
+        this.total = total;
+        this.completed = completed;
+        this.open = open;
+        this.overdue = overdue;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public void setOpen(long open) {
+        this.open = open;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.ray8118.todo_app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class TaskVersionMismatchException extends RuntimeException {
+
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+
+    public TaskVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
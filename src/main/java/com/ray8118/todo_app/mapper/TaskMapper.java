@@ -8,28 +8,33 @@ import org.slf4j.LoggerFactory;
 
 public class TaskMapper {
 
+    // Called once per row on list endpoints: row-level detail is TRACE only and guarded,
+    // so nothing is formatted or allocated unless it is switched on explicitly
     private static final Logger logger = LoggerFactory.getLogger(TaskMapper.class);
 
     public static Task toEntity(TaskRequest request) {
-        logger.debug("Mapping TaskRequest to Task entity: {}", request.getTitle());
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setDueDate(request.getDueDate());
         task.setCompleted(false);
-        logger.debug("Mapped Task entity: {}", task.getTitle());
+        if (logger.isTraceEnabled()) {
+            logger.trace("Mapped TaskRequest to Task entity: {}", task.getTitle());
+        }
         return task;
     }
 
     public static TaskResponse toResponse(Task task) {
-        logger.debug("Mapping Task entity to TaskResponse: {}", task.getTitle());
         TaskResponse response = new TaskResponse(
                 task.getTodo_id(),
                 task.getTitle(),
                 task.getDescription(),
                 task.isCompleted(),
-                task.getDueDate());
-        logger.debug("Mapped TaskResponse: {}", response.getTitle());
+                task.getDueDate(),
+                task.getVersion());
+        if (logger.isTraceEnabled()) {
+            logger.trace("Mapped Task entity {} to TaskResponse", task.getTodo_id());
+        }
         return response;
     }
 }
@@ -2,21 +2,31 @@ package com.ray8118.todo_app.model;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ray8118.todo_app.config.HibernateCacheConfig;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.FutureOrPresent;
 
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TASK_REGION)
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private int todo_id;
 
     @Column(nullable = false, length = 255)
@@ -33,6 +43,10 @@ public class Task {
     @FutureOrPresent(message = "Due date must be in the future")
     private LocalDate dueDate;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public Task() {
     }
 
@@ -83,10 +97,18 @@ public class Task {
         this.dueDate = dueDate;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Task [todo_id=" + todo_id + ", title=" + title + ", description=" + description + ", isCompleted="
-                + isCompleted + ", dueDate=" + dueDate + "]";
+                + isCompleted + ", dueDate=" + dueDate + ", version=" + version + "]";
     }
 
 }
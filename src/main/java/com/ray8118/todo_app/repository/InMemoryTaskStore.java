@@ -0,0 +1,762 @@
+package com.ray8118.todo_app.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.model.Task;
+
+/**
+ * Task storage for {@code todo.storage.engine=memory}: everything lives on the heap, nothing needs
+ * a database.
+ *
+ * <p>Tasks are held in an open-addressing {@code int -> Task} table (linear probing, no boxed
+ * keys). Two bitsets indexed by id record which tasks exist and which are completed, so id-ordered
+ * scans and status filters never touch the table's slots. Due dates are indexed by a sorted
+ * {@code long[]} of {@code (epochDay, id)} pairs.
+ *
+ * <p>All methods are thread-safe. Stored tasks are never modified in place: an update stores a new
+ * copy with the next version, so a {@link Task} returned from here is a consistent snapshot that
+ * callers must not modify.
+ *
+ * <p>With a {@link TaskJournal}, the store is rebuilt from disk on construction. Every change is
+ * appended to the journal while the write lock is held, so the log has the same order as the
+ * store. A write returns once the journal has committed it. Readers can see the change slightly
+ * earlier, while the commit is still in progress.
+ */
+@Repository
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "memory")
+public class InMemoryTaskStore {
+
+    /** Orders supported by {@link #query}; ties are broken by id in the same direction. */
+    public enum SortKey {
+        ID, TITLE, DUE_DATE, COMPLETED
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Task[] values = new Task[INITIAL_CAPACITY];
+    private int shift = Integer.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+    private int size;
+    private final BitSet live = new BitSet();
+    private final BitSet completed = new BitSet();
+    private int completedCount;
+    private final DueDateIndex dueDates = new DueDateIndex();
+    private int lastId;
+
+    private final TaskJournal journal;
+
+    public InMemoryTaskStore() {
+        this((TaskJournal) null);
+    }
+
+    @Autowired
+    public InMemoryTaskStore(ObjectProvider<TaskJournal> journal) {
+        this(journal.getIfAvailable());
+    }
+
+    public InMemoryTaskStore(TaskJournal journal) {
+        this.journal = journal;
+        if (journal != null) {
+            try {
+                journal.open(new JournalCallbacks());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not recover tasks from the journal", ex);
+            }
+            dueDates.rebuild(dueDateKeys());
+        }
+    }
+
+    public Task findById(int id) {
+        lock.readLock().lock();
+        try {
+            return get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findByIds(Iterable<Integer> ids) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>();
+            for (Integer id : ids) {
+                Task task = id == null ? null : get(id);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} tasks with an id greater than {@code afterId}, in id order. */
+    public List<Task> findPageAfter(int afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(Math.min(limit, size));
+            for (int id = live.nextSetBit(Math.max(afterId + 1, 0)); id >= 0 && tasks.size() < limit;
+                    id = live.nextSetBit(id + 1)) {
+                tasks.add(get(id));
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findAll() {
+        return findPageAfter(0, Integer.MAX_VALUE);
+    }
+
+    public List<Task> findByCompleted(boolean isCompleted) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(isCompleted ? completedCount : size - completedCount);
+            if (isCompleted) {
+                for (int id = completed.nextSetBit(0); id >= 0; id = completed.nextSetBit(id + 1)) {
+                    tasks.add(get(id));
+                }
+            } else {
+                for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+                    if (!completed.get(id)) {
+                        tasks.add(get(id));
+                    }
+                }
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tasks due between {@code from} and {@code to} (inclusive) with the given status, ordered by
+     * due date and id, skipping the first {@code offset} matches.
+     */
+    public List<Task> findDueBetween(boolean isCompleted, LocalDate from, LocalDate to, boolean descending,
+            int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(Math.min(limit, 1024));
+            int[] skip = { offset };
+            dueDates.scan(DueDateIndex.lowest(from), DueDateIndex.highest(to), descending, id -> {
+                if (completed.get(id) != isCompleted) {
+                    return true;
+                }
+                if (skip[0] > 0) {
+                    skip[0]--;
+                    return true;
+                }
+                tasks.add(get(id));
+                return tasks.size() < limit;
+            });
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findOverdue(LocalDate today, boolean descending, int offset, int limit) {
+        return findDueBetween(false, LocalDate.MIN, today.minusDays(1), descending, offset, limit);
+    }
+
+    /**
+     * Tasks whose title contains {@code term}, ignoring case, ordered by trigram similarity to the
+     * term (as PostgreSQL's pg_trgm computes it) and then by id.
+     */
+    public List<Task> searchByTitle(String term, int offset, int limit) {
+        List<Task> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+                Task task = get(id);
+                if (containsIgnoreCase(task.getTitle(), term)) {
+                    matches.add(task);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Set<String> termTrigrams = trigrams(term);
+        List<Scored> scored = new ArrayList<>(matches.size());
+        for (Task task : matches) {
+            scored.add(new Scored(task, similarity(termTrigrams, trigrams(task.getTitle()))));
+        }
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparingInt(match -> match.task().getTodo_id()));
+        return scored.stream().skip(offset).limit(limit).map(Scored::task).toList();
+    }
+
+    /** The first {@code limit} tasks matching {@code filter} in the given order. */
+    public List<Task> query(Predicate<Task> filter, SortKey sort, boolean descending, int limit) {
+        List<Task> tasks = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            switch (sort) {
+            case ID -> {
+                // Already in order: stop at the limit
+                for (int id = descending ? live.previousSetBit(live.length()) : live.nextSetBit(0);
+                        id >= 0 && tasks.size() < limit;
+                        id = descending ? live.previousSetBit(id - 1) : live.nextSetBit(id + 1)) {
+                    Task task = get(id);
+                    if (filter.test(task)) {
+                        tasks.add(task);
+                    }
+                }
+                return tasks;
+            }
+            case DUE_DATE -> {
+                dueDates.scan(Long.MIN_VALUE, Long.MAX_VALUE, descending, id -> {
+                    Task task = get(id);
+                    if (filter.test(task)) {
+                        tasks.add(task);
+                    }
+                    return tasks.size() < limit;
+                });
+                return tasks;
+            }
+            default -> {
+                for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+                    Task task = get(id);
+                    if (filter.test(task)) {
+                        tasks.add(task);
+                    }
+                }
+            }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Titles ignore case, closer to the database's collation than code-point order
+        Comparator<Task> order = sort == SortKey.TITLE
+                ? Comparator.comparing(Task::getTitle, String.CASE_INSENSITIVE_ORDER)
+                : Comparator.comparing(Task::isCompleted);
+        order = order.thenComparingInt(Task::getTodo_id);
+        tasks.sort(descending ? order.reversed() : order);
+        return tasks.size() > limit ? new ArrayList<>(tasks.subList(0, limit)) : tasks;
+    }
+
+    /** Counts as of {@code today}, read together. Overdue tasks are counted from the due-date index. */
+    public TaskStats stats(LocalDate today) {
+        lock.readLock().lock();
+        try {
+            long[] overdue = { 0 };
+            dueDates.scan(Long.MIN_VALUE, DueDateIndex.highest(today.minusDays(1)), false, id -> {
+                if (!completed.get(id)) {
+                    overdue[0]++;
+                }
+                return true;
+            });
+            return new TaskStats(size, completedCount, size - completedCount, overdue[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Stores copies of the given tasks under new ids, with version 0, and returns the copies. */
+    public List<Task> insertAll(List<Task> drafts) {
+        List<Task> inserted;
+        long position = 0;
+        lock.writeLock().lock();
+        try {
+            inserted = new ArrayList<>(drafts.size());
+            for (Task draft : drafts) {
+                Task task = copyOf(draft);
+                task.setTodo_id(lastId + 1);
+                task.setVersion(0);
+                position = log(task);
+                put(task);
+                inserted.add(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(position);
+        return inserted;
+    }
+
+    public Task insert(Task draft) {
+        return insertAll(List.of(draft)).get(0);
+    }
+
+    /**
+     * Atomically applies {@code change} to a copy of the task. If it returns true the copy is stored
+     * with the next version; if it returns false (or throws) nothing is written.
+     *
+     * @return the stored task after the change, or null if there is no task with this id
+     */
+    public Task update(int id, Predicate<Task> change) {
+        Task next;
+        long position;
+        lock.writeLock().lock();
+        try {
+            Task current = get(id);
+            if (current == null) {
+                return null;
+            }
+            next = copyOf(current);
+            if (!change.test(next)) {
+                return current;
+            }
+            next.setTodo_id(id);
+            next.setVersion(current.getVersion() + 1);
+            position = log(next);
+            unindex(current);
+            put(next);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(position);
+        return next;
+    }
+
+    /** @return the removed task, or null if there was none */
+    public Task delete(int id) {
+        Task current;
+        long position = 0;
+        lock.writeLock().lock();
+        try {
+            current = get(id);
+            if (current != null) {
+                position = logDelete(id);
+                unindex(current);
+                removeSlot(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(position);
+        return current;
+    }
+
+    // Journal calls are made under the write lock, before the change, so a failed append changes nothing
+    private long log(Task task) {
+        try {
+            return journal == null ? 0 : journal.append(task);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to the task journal", ex);
+        }
+    }
+
+    private long logDelete(int id) {
+        try {
+            return journal == null ? 0 : journal.appendDelete(id);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to the task journal", ex);
+        }
+    }
+
+    // Outside the lock, so concurrent writers can share one fsync
+    private void commit(long position) {
+        if (journal != null && position > 0) {
+            try {
+                journal.commit(position);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not write the task journal", ex);
+            }
+        }
+    }
+
+    private Task get(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int slot = home(id); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    // Adds or replaces the task in the table and its indexes; the caller has removed the old index entries
+    private void put(Task task) {
+        putSlot(task);
+        dueDates.add(DueDateIndex.key(task.getDueDate(), task.getTodo_id()));
+    }
+
+    // The table and the status bitsets only; recovery builds the due-date index once at the end
+    private void putSlot(Task task) {
+        int id = task.getTodo_id();
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = home(id);
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = id;
+            size++;
+        }
+        values[slot] = task;
+        live.set(id);
+        if (task.isCompleted()) {
+            completed.set(id);
+            completedCount++;
+        }
+        lastId = Math.max(lastId, id);
+    }
+
+    private void unindex(Task task) {
+        unmarkCompleted(task.getTodo_id());
+        dueDates.remove(DueDateIndex.key(task.getDueDate(), task.getTodo_id()));
+    }
+
+    private void unmarkCompleted(int id) {
+        if (completed.get(id)) {
+            completed.clear(id);
+            completedCount--;
+        }
+    }
+
+    private long[] dueDateKeys() {
+        long[] dueDateKeys = new long[size];
+        int i = 0;
+        for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+            dueDateKeys[i++] = DueDateIndex.key(get(id).getDueDate(), id);
+        }
+        return dueDateKeys;
+    }
+
+    // Backward-shift deletion: later entries of the probe run move up, so lookups need no tombstones
+    private void removeSlot(int id) {
+        int mask = keys.length - 1;
+        int slot = home(id);
+        while (keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == 0) {
+                break;
+            }
+            int home = home(keys[next]);
+            boolean inRun = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+            if (!inRun) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        keys[slot] = 0;
+        values[slot] = null;
+        size--;
+        live.clear(id);
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Task[] oldValues = values;
+        keys = new int[capacity];
+        values = new Task[capacity];
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = home(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // Fibonacci hashing: sequential ids spread over the whole table
+    private int home(int id) {
+        return (id * 0x9E3779B9) >>> shift;
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task(task.getTitle(), task.getDescription(), task.getDueDate());
+        copy.setTodo_id(task.getTodo_id());
+        copy.setCompleted(task.isCompleted());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    /** Case-insensitive substring test behind the in-memory title search and title filter. */
+    public static boolean containsIgnoreCase(String text, String term) {
+        for (int i = 0; i <= text.length() - term.length(); i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // pg_trgm: each alphanumeric word is lower-cased and padded with two spaces before and one after
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    private record Scored(Task task, double score) {
+    }
+
+    private final class JournalCallbacks implements TaskJournal.Store {
+
+        // Runs from the constructor, before the store is shared, so no locking
+        @Override
+        public void restore(Task task) {
+            unmarkCompleted(task.getTodo_id());
+            putSlot(task);
+        }
+
+        @Override
+        public void restoreDeleted(int id) {
+            if (get(id) != null) {
+                unmarkCompleted(id);
+                removeSlot(id);
+            }
+        }
+
+        @Override
+        public void restoreLastId(int id) {
+            lastId = Math.max(lastId, id);
+        }
+
+        @Override
+        public TaskJournal.Checkpoint checkpoint() throws IOException {
+            // Only references are copied under the lock; the tasks themselves are never modified
+            lock.writeLock().lock();
+            try {
+                long segment = journal.rotate();
+                List<Task> tasks = new ArrayList<>(size);
+                for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+                    tasks.add(get(id));
+                }
+                return new TaskJournal.Checkpoint(segment, lastId, tasks);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Sorted {@code (epochDay << 32 | id)} keys. New keys go to a small sorted buffer that is merged
+     * into the main array once it grows past about {@code sqrt(2 * main)} keys, which balances the
+     * cost of shifting the buffer against the cost of merging; removed keys in the main array are
+     * marked in a bitset and dropped by the next merge. Both keep writes cheap without giving up
+     * ordered range scans.
+     */
+    static final class DueDateIndex {
+
+        private static final int MIN_BUFFER = 1024;
+
+        private long[] main = new long[0];
+        private final BitSet removed = new BitSet();
+        private int removedCount;
+        private long[] buffer = new long[MIN_BUFFER];
+        private int bufferSize;
+
+        // Every date PostgreSQL can store has an epoch day that fits in an int
+        static long key(LocalDate dueDate, int id) {
+            return ((long) Math.toIntExact(dueDate.toEpochDay()) << 32) | (id & 0xFFFFFFFFL);
+        }
+
+        static long lowest(LocalDate dueDate) {
+            long day = dueDate.toEpochDay();
+            return day < Integer.MIN_VALUE ? Long.MIN_VALUE : day > Integer.MAX_VALUE ? Long.MAX_VALUE : day << 32;
+        }
+
+        static long highest(LocalDate dueDate) {
+            long day = dueDate.toEpochDay();
+            return day < Integer.MIN_VALUE ? Long.MIN_VALUE
+                    : day > Integer.MAX_VALUE ? Long.MAX_VALUE : (day << 32) | 0xFFFFFFFFL;
+        }
+
+        void add(long key) {
+            int at = -Arrays.binarySearch(buffer, 0, bufferSize, key) - 1;
+            if (bufferSize == buffer.length) {
+                buffer = Arrays.copyOf(buffer, bufferSize * 2);
+            }
+            System.arraycopy(buffer, at, buffer, at + 1, bufferSize - at);
+            buffer[at] = key;
+            bufferSize++;
+            if (bufferSize > Math.max(MIN_BUFFER, (int) Math.sqrt(2.0 * main.length))) {
+                merge();
+            }
+        }
+
+        void remove(long key) {
+            int at = Arrays.binarySearch(buffer, 0, bufferSize, key);
+            if (at >= 0) {
+                System.arraycopy(buffer, at + 1, buffer, at, bufferSize - at - 1);
+                bufferSize--;
+                return;
+            }
+            at = Arrays.binarySearch(main, key);
+            if (at >= 0 && !removed.get(at)) {
+                removed.set(at);
+                removedCount++;
+                if (removedCount > main.length / 2) {
+                    merge();
+                }
+            }
+        }
+
+        /** Replaces the whole index with {@code keys}, in any order. */
+        void rebuild(long[] keys) {
+            Arrays.sort(keys);
+            main = keys;
+            removed.clear();
+            removedCount = 0;
+            bufferSize = 0;
+        }
+
+        /** Visits the ids of keys in {@code [from, to]} in order until {@code visitor} returns false. */
+        void scan(long from, long to, boolean descending, IdVisitor visitor) {
+            if (descending) {
+                int m = upperBound(main, main.length, to) - 1;
+                int b = upperBound(buffer, bufferSize, to) - 1;
+                while (true) {
+                    while (m >= 0 && removed.get(m)) {
+                        m--;
+                    }
+                    long mainKey = m >= 0 ? main[m] : Long.MIN_VALUE;
+                    long bufferKey = b >= 0 ? buffer[b] : Long.MIN_VALUE;
+                    boolean fromMain = m >= 0 && (b < 0 || mainKey > bufferKey);
+                    if (m < 0 && b < 0) {
+                        return;
+                    }
+                    long key = fromMain ? mainKey : bufferKey;
+                    if (key < from || !visitor.visit((int) key)) {
+                        return;
+                    }
+                    if (fromMain) {
+                        m--;
+                    } else {
+                        b--;
+                    }
+                }
+            }
+            int m = lowerBound(main, main.length, from);
+            int b = lowerBound(buffer, bufferSize, from);
+            while (true) {
+                while (m < main.length && removed.get(m)) {
+                    m++;
+                }
+                boolean mainLeft = m < main.length;
+                boolean bufferLeft = b < bufferSize;
+                if (!mainLeft && !bufferLeft) {
+                    return;
+                }
+                boolean fromMain = mainLeft && (!bufferLeft || main[m] < buffer[b]);
+                long key = fromMain ? main[m] : buffer[b];
+                if (key > to || !visitor.visit((int) key)) {
+                    return;
+                }
+                if (fromMain) {
+                    m++;
+                } else {
+                    b++;
+                }
+            }
+        }
+
+        private void merge() {
+            long[] merged = new long[main.length - removedCount + bufferSize];
+            int m = 0;
+            int b = 0;
+            int out = 0;
+            while (m < main.length || b < bufferSize) {
+                if (m < main.length && removed.get(m)) {
+                    m++;
+                } else if (b >= bufferSize || (m < main.length && main[m] < buffer[b])) {
+                    merged[out++] = main[m++];
+                } else {
+                    merged[out++] = buffer[b++];
+                }
+            }
+            main = merged;
+            removed.clear();
+            removedCount = 0;
+            bufferSize = 0;
+        }
+
+        private static int lowerBound(long[] keys, int length, long key) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int upperBound(long[] keys, int length, long key) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @FunctionalInterface
+        interface IdVisitor {
+            boolean visit(int id);
+        }
+    }
+}
@@ -0,0 +1,578 @@
+package com.ray8118.todo_app.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ray8118.todo_app.model.Task;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write-ahead log and snapshots that make {@link InMemoryTaskStore} durable.
+ *
+ * <p>Every change is appended to the current log segment as one record. A record holds the full
+ * state of a task or a deletion, so replaying the records in order rebuilds the store. Records
+ * are buffered in memory and written by whichever committing thread gets the flush lock first.
+ * That thread writes everything buffered so far with one {@code write} and one {@code fsync}, so
+ * concurrent writers share the cost of a device flush (group commit).
+ *
+ * <p>When the log has grown by {@code compactAfterBytes} since the last snapshot, a background
+ * thread compacts it. The store starts a new segment and hands over its tasks. They are written
+ * to a snapshot file that covers every segment before the new one, and those segments are then
+ * deleted. On startup the latest snapshot and the segments after it are memory-mapped and
+ * replayed.
+ *
+ * <p>Record: {@code int length, int crc32c, byte op, payload}. A record that is cut short or fails
+ * its checksum ends the replay of its segment. Only the last write before a crash can be torn,
+ * and that write was never acknowledged.
+ */
+public final class TaskJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskJournal.class);
+
+    /** When appended records are forced to the device. */
+    public enum FsyncPolicy {
+        /** Before the write returns. Loses nothing on power failure. */
+        ALWAYS,
+        /** Every {@code fsyncInterval}. Writes survive a process crash but not a power failure. */
+        INTERVAL,
+        /** Left to the operating system. */
+        NEVER
+    }
+
+    private static final String SEGMENT_PREFIX = "tasks-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int SNAPSHOT_MAGIC = 0x54534B53;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int SNAPSHOT_HEADER = 20;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int RECORD_HEADER = 8;
+    // Far above any valid task (255 + 1000 characters); anything larger is a torn length
+    private static final int MAX_RECORD = 1 << 20;
+    private static final long MAP_WINDOW = 1L << 28;
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final long compactAfterBytes;
+    private final ScheduledExecutorService worker = Executors.newScheduledThreadPool(2,
+            Thread.ofPlatform().name("task-journal-", 0).daemon().factory());
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Timer syncTimer;
+    private final DistributionSummary groupSize;
+    private final Timer compactionTimer;
+
+    // Guarded by appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private int pendingRecords;
+    private volatile long appendedPosition;
+    private final CRC32C crc = new CRC32C();
+
+    // Guarded by flushLock
+    private final Object flushLock = new Object();
+    private ByteBuffer spare = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private long segment;
+    private volatile long writtenPosition;
+    private volatile long syncedPosition;
+
+    private volatile long rotatedPosition;
+    private volatile long snapshotPosition;
+    private volatile IOException failure;
+    private Store store;
+
+    public TaskJournal(Path directory, FsyncPolicy fsyncPolicy, Duration fsyncInterval, long compactAfterBytes,
+            MeterRegistry meterRegistry) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.compactAfterBytes = compactAfterBytes;
+        this.syncTimer = Timer.builder("todo.journal.sync")
+                .description("Time to write buffered journal records and force them to the device")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("todo.journal.group-commit")
+                .description("Records written to the journal by one flush")
+                .register(meterRegistry);
+        this.compactionTimer = Timer.builder("todo.journal.compaction")
+                .description("Time to write a snapshot and drop the log segments it replaces")
+                .register(meterRegistry);
+    }
+
+    /** Callbacks into the store that owns this journal. */
+    interface Store {
+
+        void restore(Task task);
+
+        void restoreDeleted(int id);
+
+        void restoreLastId(int lastId);
+
+        /** Called from the compaction thread; must call {@link #rotate()} while holding off writers. */
+        Checkpoint checkpoint() throws IOException;
+    }
+
+    /** Every task as of the start of {@code segment}, in id order. */
+    record Checkpoint(long segment, int lastId, List<Task> tasks) {
+    }
+
+    /**
+     * Replays the latest snapshot and the log segments after it into {@code store}, then opens a
+     * new segment for appends.
+     */
+    void open(Store store) throws IOException {
+        this.store = store;
+        long started = System.nanoTime();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.toString().endsWith(TEMP_SUFFIX)).toList()) {
+                Files.delete(file);
+            }
+        }
+        List<Long> snapshots = numbered(SNAPSHOT_SUFFIX);
+        long coveredUntil = 0;
+        long tasks = 0;
+        Map<Integer, LocalDate> dates = new HashMap<>();
+        if (!snapshots.isEmpty()) {
+            coveredUntil = snapshots.get(snapshots.size() - 1);
+            tasks = readSnapshot(path(coveredUntil, SNAPSHOT_SUFFIX), store, dates);
+        }
+        long replayed = 0;
+        long lastSegment = 0;
+        for (long number : numbered(SEGMENT_SUFFIX)) {
+            if (number < coveredUntil) {
+                Files.delete(path(number, SEGMENT_SUFFIX));
+            } else {
+                replayed += replay(path(number, SEGMENT_SUFFIX), store, dates);
+                lastSegment = number;
+            }
+        }
+        for (long number : snapshots) {
+            if (number < coveredUntil) {
+                Files.delete(path(number, SNAPSHOT_SUFFIX));
+            }
+        }
+        segment = Math.max(Math.max(coveredUntil, lastSegment + 1), 1);
+        channel = openSegment(segment);
+        appendedPosition = replayed;
+        writtenPosition = replayed;
+        syncedPosition = replayed;
+        logger.info("Recovered {} snapshot tasks and {} bytes of log from {} in {} ms", tasks, replayed, directory,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long nanos = fsyncInterval.toNanos();
+            worker.scheduleWithFixedDelay(this::syncQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Buffers a record with the task's state and returns the position to {@link #commit} up to. */
+    long append(Task task) throws IOException {
+        byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        appendLock.lock();
+        try {
+            ByteBuffer buffer = reserve(RECORD_HEADER + 30 + title.length + description.length);
+            int start = buffer.position();
+            buffer.position(start + RECORD_HEADER);
+            buffer.put(PUT);
+            writeTask(buffer, task, title, description);
+            return seal(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    long appendDelete(int id) throws IOException {
+        appendLock.lock();
+        try {
+            ByteBuffer buffer = reserve(RECORD_HEADER + 5);
+            int start = buffer.position();
+            buffer.position(start + RECORD_HEADER);
+            buffer.put(DELETE).putInt(id);
+            return seal(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns once everything appended up to {@code position} has been written, and forced to the
+     * device when the policy is {@link FsyncPolicy#ALWAYS}. May start a compaction in the
+     * background.
+     */
+    void commit(long position) throws IOException {
+        boolean force = fsyncPolicy == FsyncPolicy.ALWAYS;
+        if (force ? syncedPosition < position : writtenPosition < position) {
+            synchronized (flushLock) {
+                flush(position, force);
+            }
+        }
+        if (appendedPosition - snapshotPosition > compactAfterBytes && compacting.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException ex) {
+                    logger.error("Task journal compaction failed; the log keeps growing until the next attempt", ex);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Flushes and closes the current segment and starts the next one. The caller must keep
+     * appends out until it returns.
+     *
+     * @return the number of the new segment
+     */
+    long rotate() throws IOException {
+        synchronized (flushLock) {
+            flush(appendedPosition, true);
+            rotatedPosition = writtenPosition;
+            channel.close();
+            segment++;
+            channel = openSegment(segment);
+            return segment;
+        }
+    }
+
+    /** Writes a snapshot of the store now and deletes the log segments it replaces. */
+    public void compact() throws IOException {
+        long started = System.nanoTime();
+        Checkpoint checkpoint = store.checkpoint();
+        Path target = path(checkpoint.segment(), SNAPSHOT_SUFFIX);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_FORMAT).putInt(checkpoint.lastId())
+                    .putLong(checkpoint.tasks().size());
+            CRC32C checksum = new CRC32C();
+            for (Task task : checkpoint.tasks()) {
+                byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+                byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < RECORD_HEADER + 30 + title.length + description.length) {
+                    writeFully(out, buffer.flip());
+                    buffer.clear();
+                }
+                int start = buffer.position();
+                buffer.position(start + RECORD_HEADER);
+                buffer.put(PUT);
+                writeTask(buffer, task, title, description);
+                frame(buffer, start, checksum);
+            }
+            writeFully(out, buffer.flip());
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        snapshotPosition = rotatedPosition;
+        for (long number : numbered(SEGMENT_SUFFIX)) {
+            if (number < checkpoint.segment()) {
+                Files.deleteIfExists(path(number, SEGMENT_SUFFIX));
+            }
+        }
+        for (long number : numbered(SNAPSHOT_SUFFIX)) {
+            if (number < checkpoint.segment()) {
+                Files.deleteIfExists(path(number, SNAPSHOT_SUFFIX));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        compactionTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Compacted task journal: snapshot of {} tasks in {} ms", checkpoint.tasks().size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @Override
+    public void close() throws IOException {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (flushLock) {
+            if (channel != null && channel.isOpen()) {
+                if (failure == null) {
+                    flush(appendedPosition, fsyncPolicy != FsyncPolicy.NEVER);
+                }
+                channel.close();
+            }
+        }
+    }
+
+    // Caller holds flushLock
+    private void flush(long position, boolean force) throws IOException {
+        if (failure != null) {
+            throw new IOException("Task journal failed earlier; restart to recover from disk", failure);
+        }
+        if (force ? syncedPosition >= position : writtenPosition >= position) {
+            // Another thread's flush already covered this position
+            return;
+        }
+        long started = System.nanoTime();
+        ByteBuffer batch;
+        long end;
+        int records;
+        appendLock.lock();
+        try {
+            batch = pending;
+            pending = spare;
+            end = appendedPosition;
+            records = pendingRecords;
+            pendingRecords = 0;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            writeFully(channel, batch.flip());
+            writtenPosition = end;
+            if (force && syncedPosition < end) {
+                channel.force(false);
+                syncedPosition = end;
+            }
+        } catch (IOException ex) {
+            // The device state is unknown now; refuse further writes instead of guessing
+            failure = ex;
+            throw ex;
+        } finally {
+            spare = batch.clear();
+        }
+        if (records > 0) {
+            groupSize.record(records);
+        }
+        syncTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    // Records forced into a segment are only durable once the directory entry for the file is too
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel opened = FileChannel.open(path(number, SEGMENT_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            syncDirectory();
+        } catch (IOException ex) {
+            opened.close();
+            throw ex;
+        }
+        return opened;
+    }
+
+    private void syncDirectory() throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            synchronized (flushLock) {
+                flush(appendedPosition, true);
+            }
+        } catch (IOException ex) {
+            logger.error("Periodic task journal fsync failed", ex);
+        }
+    }
+
+    // Caller holds appendLock
+    private ByteBuffer reserve(int bytes) throws IOException {
+        if (failure != null) {
+            throw new IOException("Task journal failed earlier; restart to recover from disk", failure);
+        }
+        if (pending.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending = larger.put(pending.flip());
+        }
+        return pending;
+    }
+
+    // Caller holds appendLock
+    private long seal(ByteBuffer buffer, int start) {
+        int length = frame(buffer, start, crc);
+        pendingRecords++;
+        appendedPosition += length;
+        return appendedPosition;
+    }
+
+    // Fills in the length and checksum of the record that starts at start; returns its full size
+    private static int frame(ByteBuffer buffer, int start, CRC32C checksum) {
+        int end = buffer.position();
+        int bodyLength = end - start - RECORD_HEADER;
+        checksum.reset();
+        checksum.update(buffer.slice(start + RECORD_HEADER, bodyLength));
+        buffer.putInt(start, bodyLength).putInt(start + 4, (int) checksum.getValue());
+        return end - start;
+    }
+
+    private static void writeTask(ByteBuffer buffer, Task task, byte[] title, byte[] description) {
+        buffer.putInt(task.getTodo_id())
+                .putLong(task.getVersion())
+                .put((byte) (task.isCompleted() ? 1 : 0))
+                .putInt(Math.toIntExact(task.getDueDate().toEpochDay()))
+                .putInt(title.length).put(title)
+                .putInt(description.length).put(description);
+    }
+
+    private static Task readTask(ByteBuffer buffer, Map<Integer, LocalDate> dates) {
+        int id = buffer.getInt();
+        long version = buffer.getLong();
+        boolean completed = buffer.get() != 0;
+        // Tasks share far fewer due dates than there are tasks; reuse one LocalDate per day
+        LocalDate dueDate = dates.computeIfAbsent(buffer.getInt(), LocalDate::ofEpochDay);
+        String title = readString(buffer);
+        String description = readString(buffer);
+        Task task = new Task(title, description, dueDate);
+        task.setTodo_id(id);
+        task.setVersion(version);
+        task.setCompleted(completed);
+        return task;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readSnapshot(Path file, Store store, Map<Integer, LocalDate> dates) throws IOException {
+        try (MappedReader reader = new MappedReader(file)) {
+            ByteBuffer header = reader.at(0, SNAPSHOT_HEADER);
+            if (header == null || header.getInt() != SNAPSHOT_MAGIC || header.getInt() != SNAPSHOT_FORMAT) {
+                throw new IOException("Not a task snapshot: " + file);
+            }
+            store.restoreLastId(header.getInt());
+            long count = header.getLong();
+            readRecords(reader, SNAPSHOT_HEADER, store, dates);
+            // Snapshots are renamed into place only once complete, so a short one is real damage
+            if (reader.records != count) {
+                throw new IOException("Snapshot " + file + " holds " + reader.records + " of " + count + " tasks");
+            }
+            return count;
+        }
+    }
+
+    private static long replay(Path file, Store store, Map<Integer, LocalDate> dates) throws IOException {
+        try (MappedReader reader = new MappedReader(file)) {
+            long end = readRecords(reader, 0, store, dates);
+            if (end < reader.size) {
+                logger.warn("Ignoring {} bytes of torn or corrupt records at the end of {}", reader.size - end, file);
+            }
+            return end;
+        }
+    }
+
+    // Returns the position after the last intact record
+    private static long readRecords(MappedReader reader, long from, Store store, Map<Integer, LocalDate> dates)
+            throws IOException {
+        CRC32C checksum = new CRC32C();
+        long position = from;
+        while (true) {
+            ByteBuffer header = reader.at(position, RECORD_HEADER);
+            if (header == null) {
+                return position;
+            }
+            int length = header.getInt();
+            int expected = header.getInt();
+            ByteBuffer body = length > 0 && length <= MAX_RECORD ? reader.at(position + RECORD_HEADER, length) : null;
+            if (body == null) {
+                return position;
+            }
+            checksum.reset();
+            checksum.update(body.slice(body.position(), length));
+            if ((int) checksum.getValue() != expected) {
+                return position;
+            }
+            byte op = body.get();
+            if (op == PUT) {
+                store.restore(readTask(body, dates));
+            } else if (op == DELETE) {
+                store.restoreDeleted(body.getInt());
+            } else {
+                return position;
+            }
+            reader.records++;
+            position += RECORD_HEADER + length;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private Path path(long number, String suffix) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, suffix));
+    }
+
+    private List<Long> numbered(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /** Reads a file through memory-mapped windows, so files larger than 2 GB can be replayed. */
+    private static final class MappedReader implements Closeable {
+
+        private final FileChannel channel;
+        private final long size;
+        private long records;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedReader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.size = channel.size();
+        }
+
+        /** A buffer positioned at {@code position} with {@code length} readable bytes, or null past the end. */
+        ByteBuffer at(long position, int length) throws IOException {
+            if (position + length > size) {
+                return null;
+            }
+            if (window == null || position < windowStart || position + length > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+            }
+            return window.position((int) (position - windowStart));
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
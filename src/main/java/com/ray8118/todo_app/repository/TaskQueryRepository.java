@@ -0,0 +1,24 @@
+package com.ray8118.todo_app.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+
+public interface TaskQueryRepository {
+
+    List<TaskResponse> findResponses(Specification<Task> specification, Sort sort, int limit);
+
+    /** Flips the task's status and bumps its version; empty if there is no such task. */
+    @Transactional
+    Optional<TaskResponse> toggleCompleted(int id);
+
+    /** Empty when the task is missing or already in the requested state; nothing is written then. */
+    @Transactional
+    Optional<TaskResponse> updateCompletedIfChanged(int id, boolean completed);
+}
@@ -0,0 +1,126 @@
+package com.ray8118.todo_app.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Runs a {@link Specification} as one SELECT that constructs {@link TaskResponse} directly, like the
+ * TASK_RESPONSE queries, rather than loading entities through JpaSpecificationExecutor.
+ *
+ * <p>Status writes are a single {@code UPDATE ... RETURNING} on PostgreSQL, so the row lock
+ * serialises concurrent toggles and none are lost. Other databases get a JPQL bulk update followed
+ * by a read of the row, which the same row lock keeps consistent. Either way the persistence context
+ * is flushed before and cleared after, as with {@code @Modifying(flushAutomatically = true,
+ * clearAutomatically = true)}, and no entity is loaded, so nothing uncommitted reaches the
+ * second-level cache.
+ */
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    private static final String RETURNING = " returning todo_id, title, description, is_completed, due_date, version";
+
+    private static final String TOGGLE_RETURNING = "update task set is_completed = not is_completed,"
+            + " version = version + 1 where todo_id = :id" + RETURNING;
+
+    // Matches nothing when the task is already in the requested state, so repeated calls do not write
+    private static final String SET_COMPLETED_RETURNING = "update task set is_completed = :completed,"
+            + " version = version + 1 where todo_id = :id and is_completed <> :completed" + RETURNING;
+
+    private static final String TOGGLE = "update Task t set t.isCompleted = case when t.isCompleted = true"
+            + " then false else true end, t.version = t.version + 1 where t.todo_id = :id";
+
+    private static final String SET_COMPLETED = "update Task t set t.isCompleted = :completed,"
+            + " t.version = t.version + 1 where t.todo_id = :id and t.isCompleted <> :completed";
+
+    private final EntityManager entityManager;
+    private final boolean updateReturning;
+
+    public TaskQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.updateReturning = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public List<TaskResponse> findResponses(Specification<Task> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskResponse.class, task.get("todo_id"), task.get("title"),
+                task.get("description"), task.get("isCompleted"), task.get("dueDate"), task.get("version")));
+        Predicate predicate = specification.toPredicate(task, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Plain attribute names: property-path parsing would split todo_id at the underscore
+        query.orderBy(sort.stream()
+                .map(order -> order.isAscending()
+                        ? cb.asc(task.get(order.getProperty()))
+                        : cb.desc(task.get(order.getProperty())))
+                .toList());
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Optional<TaskResponse> toggleCompleted(int id) {
+        entityManager.flush();
+        Optional<TaskResponse> task = updateReturning
+                ? updateReturning(entityManager.createNativeQuery(TOGGLE_RETURNING).setParameter("id", id))
+                : updateThenRead(entityManager.createQuery(TOGGLE).setParameter("id", id), id);
+        entityManager.clear();
+        return task;
+    }
+
+    @Override
+    public Optional<TaskResponse> updateCompletedIfChanged(int id, boolean completed) {
+        entityManager.flush();
+        Optional<TaskResponse> task = updateReturning
+                ? updateReturning(entityManager.createNativeQuery(SET_COMPLETED_RETURNING)
+                        .setParameter("id", id).setParameter("completed", completed))
+                : updateThenRead(entityManager.createQuery(SET_COMPLETED)
+                        .setParameter("id", id).setParameter("completed", completed), id);
+        entityManager.clear();
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<TaskResponse> updateReturning(Query update) {
+        NativeQuery<TaskResponse> query = update.unwrap(NativeQuery.class)
+                .addScalar("todo_id", Integer.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("is_completed", Boolean.class)
+                .addScalar("due_date", LocalDate.class)
+                .addScalar("version", Long.class)
+                .setTupleTransformer((row, aliases) -> new TaskResponse((Integer) row[0], (String) row[1],
+                        (String) row[2], (Boolean) row[3], (LocalDate) row[4], (Long) row[5]));
+        return query.getResultStream().findFirst();
+    }
+
+    // The row stays locked by the update until commit, so the read sees exactly what was written
+    private Optional<TaskResponse> updateThenRead(Query update, int id) {
+        if (update.executeUpdate() == 0) {
+            return Optional.empty();
+        }
+        return entityManager.createQuery(TaskRepository.TASK_RESPONSE + " where t.todo_id = :id", TaskResponse.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,13 +1,80 @@
 package com.ray8118.todo_app.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.ray8118.todo_app.dto.TaskResponse;
 import com.ray8118.todo_app.model.Task;
 
-public interface TaskRepository extends JpaRepository<Task, Integer> {
-    List<Task> findByIsCompleted(boolean completed);
+import jakarta.persistence.QueryHint;
 
-    List<Task> findByTitleContainingIgnoreCase(String title);
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Integer>, TaskQueryRepository {
+
+    // Read paths select straight into TaskResponse: no managed entities, no snapshots to dirty-check
+    String TASK_RESPONSE = "select new com.ray8118.todo_app.dto.TaskResponse("
+            + "t.todo_id, t.title, t.description, t.isCompleted, t.dueDate, t.version) from Task t";
+
+    @Query(TASK_RESPONSE)
+    List<TaskResponse> findAllResponses();
+
+    @Query(TASK_RESPONSE + " where t.isCompleted = :completed")
+    List<TaskResponse> findResponsesByIsCompleted(@Param("completed") boolean completed);
+
+    // Served by the idx_task_title_trgm trigram index; best matches first
+    @Query(TASK_RESPONSE + " where lower(t.title) like lower(:pattern) escape '!'"
+            + " order by function('similarity', lower(t.title), lower(:term)) desc, t.todo_id")
+    List<TaskResponse> searchResponsesByTitle(@Param("pattern") String pattern, @Param("term") String term);
+
+    @Query(TASK_RESPONSE + " where lower(t.title) like lower(:pattern) escape '!'"
+            + " order by function('similarity', lower(t.title), lower(:term)) desc, t.todo_id")
+    List<TaskResponse> searchResponsesByTitle(@Param("pattern") String pattern, @Param("term") String term,
+            Pageable pageable);
+
+    // Both walk idx_task_completed_due (migration V5) in sort order: equality on isCompleted, range
+    // on dueDate. Rows still come from the table, and the page offset is walked past, not skipped
+    @Query(TASK_RESPONSE + " where t.isCompleted = :completed and t.dueDate between :from and :to")
+    List<TaskResponse> findResponsesDueBetween(@Param("completed") boolean completed, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, Pageable pageable);
+
+    @Query(TASK_RESPONSE + " where t.isCompleted = false and t.dueDate < :today")
+    List<TaskResponse> findOverdueResponses(@Param("today") LocalDate today, Pageable pageable);
+
+    @Query(TASK_RESPONSE + " where t.todo_id in :ids")
+    List<TaskResponse> findResponsesByIds(@Param("ids") Collection<Integer> ids);
+
+    // One row per (status, due date): a few thousand rows however large the table is
+    @Query("select t.isCompleted as completed, t.dueDate as dueDate, count(t) as tasks from Task t"
+            + " group by t.isCompleted, t.dueDate")
+    List<TaskCount> countByStatusAndDueDate();
+
+    // Advanced once by each writing transaction as it commits (migrations V6 and V7)
+    @Query(value = "select version from task_change_counter", nativeQuery = true)
+    long currentChangeVersion();
+
+    // Keyset page: seeks past the last id the client saw instead of using OFFSET
+    @Query(TASK_RESPONSE + " where t.todo_id > :after order by t.todo_id asc")
+    List<TaskResponse> findPageAfter(@Param("after") int after, Limit limit);
+
+    // Server-side cursor; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_RESPONSE + " order by t.todo_id asc")
+    Stream<TaskResponse> streamAllOrderById();
+
+    interface TaskCount {
+        boolean getCompleted();
+
+        LocalDate getDueDate();
+
+        long getTasks();
+    }
+}
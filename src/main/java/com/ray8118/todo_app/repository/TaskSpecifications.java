@@ -0,0 +1,41 @@
+package com.ray8118.todo_app.repository;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ray8118.todo_app.model.Task;
+
+/** Predicates for {@link TaskQueryRepository}; combine them with {@link Specification#allOf}. */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> isCompleted(boolean completed) {
+        return (task, query, cb) -> cb.equal(task.get("isCompleted"), completed);
+    }
+
+    // Matches the lower(title) trigram index; the pattern is bound as a parameter and escaped with '!'
+    public static Specification<Task> titleLike(String pattern) {
+        String lowered = pattern.toLowerCase(Locale.ROOT);
+        return (task, query, cb) -> cb.like(cb.lower(task.get("title")), lowered, '!');
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDate from) {
+        return (task, query, cb) -> cb.greaterThanOrEqualTo(task.get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate to) {
+        return (task, query, cb) -> cb.lessThanOrEqualTo(task.get("dueDate"), to);
+    }
+
+    public static Specification<Task> idAtLeast(int from) {
+        return (task, query, cb) -> cb.greaterThanOrEqualTo(task.get("todo_id"), from);
+    }
+
+    public static Specification<Task> idAtMost(int to) {
+        return (task, query, cb) -> cb.lessThanOrEqualTo(task.get("todo_id"), to);
+    }
+}
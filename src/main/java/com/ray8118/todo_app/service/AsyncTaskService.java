@@ -0,0 +1,125 @@
+package com.ray8118.todo_app.service;
+
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs single-task {@link TaskService} calls on a dedicated executor so the request thread is
+ * released while the database works, and so independent calls can overlap.
+ *
+ * <p>The executor has as many threads as the connection pool has connections; more would only
+ * wait inside the pool. Its queue is bounded, and a full queue rejects the call immediately
+ * ({@link java.util.concurrent.RejectedExecutionException}) instead of letting latency grow
+ * without limit.
+ *
+ * <p>With {@code todo.async.enabled=false} the calls run on the calling thread instead, which is
+ * what you want when request threads are virtual and cost nothing to block.
+ */
+@Service
+public class AsyncTaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTaskService.class);
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final TaskService taskService;
+    private final ThreadPoolExecutor pool;
+    private final Executor executor;
+
+    public AsyncTaskService(TaskService taskService, ObjectProvider<DataSource> dataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${todo.async.enabled:true}") boolean enabled,
+            @Value("${todo.async.pool-size:0}") int poolSize,
+            @Value("${todo.async.queue-capacity:500}") int queueCapacity) {
+        this.taskService = taskService;
+        if (!enabled) {
+            this.pool = null;
+            this.executor = Runnable::run;
+            logger.info("Async task service disabled, task calls run on the request thread");
+            return;
+        }
+        int threads = poolSize > 0 ? poolSize : connectionPoolSize(dataSource.getIfAvailable());
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("task-service-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = pool;
+        meterRegistry.ifAvailable(registry -> ExecutorServiceMetrics.monitor(registry, pool, "task-service"));
+        logger.info("Async task service using {} threads and a queue of {}", threads, queueCapacity);
+    }
+
+    public CompletableFuture<TaskResponse> getTaskOrThrow(Integer id) {
+        return supply(() -> taskService.getTaskOrThrow(id));
+    }
+
+    public CompletableFuture<TaskResponse> createTask(TaskRequest request) {
+        return supply(() -> taskService.createTask(request));
+    }
+
+    /** A null {@code expectedVersion} updates whatever version is current. */
+    public CompletableFuture<TaskResponse> updateTask(Integer id, TaskRequest request, Long expectedVersion) {
+        return supply(() -> expectedVersion == null
+                ? taskService.updateTask(id, request)
+                : taskService.updateTask(id, request, expectedVersion));
+    }
+
+    public CompletableFuture<TaskResponse> updateStatus(Integer id) {
+        return supply(() -> taskService.updateStatus(id));
+    }
+
+    public CompletableFuture<TaskResponse> setCompleted(Integer id, boolean completed) {
+        return supply(() -> taskService.setCompleted(id, completed));
+    }
+
+    public CompletableFuture<Void> deleteTask(Integer id) {
+        return CompletableFuture.runAsync(() -> taskService.deleteTask(id), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Async task service did not finish {} queued calls before shutdown", pool.getQueue().size());
+            pool.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException ex) {
+            logger.debug("Could not determine the connection pool size", ex);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
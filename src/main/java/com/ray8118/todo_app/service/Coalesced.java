@@ -0,0 +1,18 @@
+package com.ray8118.todo_app.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only {@link TaskService} method whose concurrent calls with equal arguments may share
+ * one execution and its result or exception ({@code TaskReadCoalescer}). Every caller gets the same
+ * result instance, so callers must not modify it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,31 @@
+package com.ray8118.todo_app.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ray8118.todo_app.repository.TaskRepository;
+
+/**
+ * Reads the change counter maintained by a trigger on the task table, so writes
+ * from every replica (and from outside the application) are seen.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.change-tracking", havingValue = "database", matchIfMissing = true)
+public class DatabaseTaskChangeTracker implements TaskChangeTracker {
+
+    private final TaskRepository taskRepository;
+
+    public DatabaseTaskChangeTracker(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public long currentVersion() {
+        return taskRepository.currentChangeVersion();
+    }
+
+    @Override
+    public void recordChange() {
+        // Maintained by the database trigger
+    }
+}
@@ -0,0 +1,421 @@
+package com.ray8118.todo_app.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.exception.InvalidQueryException;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.exception.TaskVersionMismatchException;
+import com.ray8118.todo_app.mapper.TaskMapper;
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.InMemoryTaskStore;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * {@link TaskService} backed by {@link InMemoryTaskStore} instead of JPA, for edge nodes and tests
+ * that run without PostgreSQL ({@code todo.storage.engine=memory}). Behaves like
+ * {@link TaskServiceImpl} from a caller's point of view. Each write is applied atomically and is
+ * visible immediately, and statistics are read straight from the store's indexes.
+ */
+@Service
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "memory")
+public class InMemoryTaskService implements TaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskService.class);
+
+    private static final Map<String, InMemoryTaskStore.SortKey> QUERY_SORT_KEYS = Map.of(
+            "todo_id", InMemoryTaskStore.SortKey.ID, "title", InMemoryTaskStore.SortKey.TITLE,
+            "dueDate", InMemoryTaskStore.SortKey.DUE_DATE, "completed", InMemoryTaskStore.SortKey.COMPLETED);
+
+    // Rows copied out per read-lock acquisition while streaming, so writers are not held up
+    private static final int STREAM_CHUNK_SIZE = 1000;
+
+    private final InMemoryTaskStore store;
+    private final Validator validator;
+    private final TaskChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryTaskService(InMemoryTaskStore store, Validator validator, TaskChangeTracker changeTracker,
+            ApplicationEventPublisher eventPublisher) {
+        this.store = store;
+        this.validator = validator;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public List<TaskResponse> getAllTasks() {
+        return toResponses(store.findAll());
+    }
+
+    @Override
+    public TaskPage getTasksPage(String after, int limit) {
+        int afterId = TaskCursor.decode(after);
+        int pageSize = Math.clamp(limit, 1, TaskServiceImpl.MAX_PAGE_SIZE);
+        List<Task> rows = store.findPageAfter(afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskResponse> tasks = toResponses(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = hasMore ? TaskCursor.encode(tasks.get(tasks.size() - 1).getTodo_id()) : null;
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    @Override
+    public void streamAllTasks(Consumer<TaskResponse> consumer) {
+        int afterId = 0;
+        List<Task> chunk;
+        do {
+            chunk = store.findPageAfter(afterId, STREAM_CHUNK_SIZE);
+            for (Task task : chunk) {
+                consumer.accept(TaskMapper.toResponse(task));
+                afterId = task.getTodo_id();
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
+    }
+
+    @Override
+    public long getTasksVersion() {
+        return changeTracker.currentVersion();
+    }
+
+    @Override
+    public TaskStats getTaskStats() {
+        return store.stats(LocalDate.now());
+    }
+
+    @Override
+    public Optional<TaskResponse> getTaskById(Integer id) {
+        return Optional.ofNullable(store.findById(id)).map(TaskMapper::toResponse);
+    }
+
+    @Override
+    public TaskResponse getTaskOrThrow(Integer id) {
+        return TaskMapper.toResponse(findOrThrow(id));
+    }
+
+    @Override
+    public TaskResponse createTask(TaskRequest request) {
+        logger.info("Creating new task with title: {}", request.getTitle());
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        TaskResponse response = TaskMapper.toResponse(store.insert(TaskMapper.toEntity(request)));
+        changeTracker.recordChange();
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, response));
+        logger.info("Task created in memory with ID: {}", response.getTodo_id());
+        return response;
+    }
+
+    @Override
+    public TaskResponse updateTask(Integer id, TaskRequest request) {
+        return applyUpdate(id, request, null);
+    }
+
+    @Override
+    public TaskResponse updateTask(Integer id, TaskRequest request, Long expectedVersion) {
+        return applyUpdate(id, request, expectedVersion);
+    }
+
+    private TaskResponse applyUpdate(Integer id, TaskRequest request, Long expectedVersion) {
+        logger.info("Attempting to update task with ID: {} with details: {}", id, request.getTitle());
+        Task updated = store.update(id, task -> {
+            if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                throw new TaskVersionMismatchException("Task with id " + id + " has been modified (version "
+                        + task.getVersion() + ")");
+            }
+            task.setTitle(request.getTitle());
+            task.setDescription(request.getDescription());
+            task.setDueDate(request.getDueDate());
+            return true;
+        });
+        return written(id, updated, TaskEvent.Type.UPDATED);
+    }
+
+    @Override
+    public TaskResponse updateStatus(Integer id) {
+        logger.info("Attempting to update status for task with ID: {}", id);
+        Task updated = store.update(id, task -> {
+            task.setCompleted(!task.isCompleted());
+            return true;
+        });
+        return written(id, updated, TaskEvent.Type.STATUS_CHANGED);
+    }
+
+    @Override
+    public TaskResponse setCompleted(Integer id, boolean completed) {
+        logger.info("Attempting to set completed={} for task with ID: {}", completed, id);
+        boolean[] changed = { false };
+        Task updated = store.update(id, task -> {
+            // Already in the requested state: nothing is written
+            changed[0] = task.isCompleted() != completed;
+            task.setCompleted(completed);
+            return changed[0];
+        });
+        if (updated == null || !changed[0]) {
+            return TaskMapper.toResponse(findOrThrow(id, updated));
+        }
+        return written(id, updated, TaskEvent.Type.STATUS_CHANGED);
+    }
+
+    @Override
+    public List<TaskResponse> filterTasksByStatus(Boolean completed) {
+        return toResponses(completed == null ? store.findAll() : store.findByCompleted(completed));
+    }
+
+    @Override
+    public List<TaskResponse> searchTasksByTitle(String title) {
+        if (title == null) {
+            return List.of();
+        }
+        return toResponses(store.searchByTitle(title, 0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public List<TaskResponse> searchTasksByTitle(String title, int page, int size) {
+        if (title == null) {
+            return List.of();
+        }
+        int pageSize = Math.clamp(size, 1, TaskServiceImpl.MAX_PAGE_SIZE);
+        return toResponses(store.searchByTitle(title, Math.max(page, 0) * pageSize, pageSize));
+    }
+
+    @Override
+    public List<TaskResponse> getTasksDueBetween(LocalDate from, LocalDate to, boolean completed,
+            Sort.Direction order, int page, int size) {
+        if (from.isAfter(to)) {
+            throw new InvalidQueryException("from (" + from + ") must not be after to (" + to + ")");
+        }
+        int pageSize = Math.clamp(size, 1, TaskServiceImpl.MAX_PAGE_SIZE);
+        return toResponses(store.findDueBetween(completed, from, to, order.isDescending(),
+                Math.max(page, 0) * pageSize, pageSize));
+    }
+
+    @Override
+    public List<TaskResponse> getOverdueTasks(Sort.Direction order, int page, int size) {
+        int pageSize = Math.clamp(size, 1, TaskServiceImpl.MAX_PAGE_SIZE);
+        return toResponses(store.findOverdue(LocalDate.now(), order.isDescending(), Math.max(page, 0) * pageSize,
+                pageSize));
+    }
+
+    @Override
+    public List<TaskResponse> queryTasks(TaskQuery query) {
+        if (query.getDueFrom() != null && query.getDueTo() != null && query.getDueFrom().isAfter(query.getDueTo())) {
+            throw new InvalidQueryException("dueFrom (" + query.getDueFrom() + ") must not be after dueTo ("
+                    + query.getDueTo() + ")");
+        }
+        if (query.getIdFrom() != null && query.getIdTo() != null && query.getIdFrom() > query.getIdTo()) {
+            throw new InvalidQueryException("idFrom (" + query.getIdFrom() + ") must not be greater than idTo ("
+                    + query.getIdTo() + ")");
+        }
+        InMemoryTaskStore.SortKey sort = QUERY_SORT_KEYS.get(query.getSort());
+        if (sort == null) {
+            throw new InvalidQueryException("sort must be one of " + QUERY_SORT_KEYS.keySet() + ", got: "
+                    + query.getSort());
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(query.getOrder())
+                .orElseThrow(() -> new InvalidQueryException("order must be 'asc' or 'desc', got: " + query.getOrder()));
+
+        Predicate<Task> filter = task -> true;
+        if (query.getCompleted() != null) {
+            boolean completed = query.getCompleted();
+            filter = filter.and(task -> task.isCompleted() == completed);
+        }
+        if (query.getTitle() != null && !query.getTitle().isBlank()) {
+            String title = query.getTitle();
+            filter = filter.and(task -> InMemoryTaskStore.containsIgnoreCase(task.getTitle(), title));
+        }
+        if (query.getDueFrom() != null) {
+            LocalDate dueFrom = query.getDueFrom();
+            filter = filter.and(task -> !task.getDueDate().isBefore(dueFrom));
+        }
+        if (query.getDueTo() != null) {
+            LocalDate dueTo = query.getDueTo();
+            filter = filter.and(task -> !task.getDueDate().isAfter(dueTo));
+        }
+        if (query.getIdFrom() != null) {
+            int idFrom = query.getIdFrom();
+            filter = filter.and(task -> task.getTodo_id() >= idFrom);
+        }
+        if (query.getIdTo() != null) {
+            int idTo = query.getIdTo();
+            filter = filter.and(task -> task.getTodo_id() <= idTo);
+        }
+        return toResponses(store.query(filter, sort, direction.isDescending(),
+                Math.clamp(query.getLimit(), 1, TaskServiceImpl.MAX_PAGE_SIZE)));
+    }
+
+    @Override
+    public void deleteTask(Integer id) {
+        logger.info("Attempting to delete task with ID : {}", id);
+        if (store.delete(id) == null) {
+            throw notFound(id);
+        }
+        changeTracker.recordChange();
+        eventPublisher.publishEvent(TaskEvent.deleted(id));
+        logger.info("Task with ID {} deleted from memory.", id);
+    }
+
+    @Override
+    public List<BatchItemResult> createTasks(List<TaskRequest> requests) {
+        logger.info("Creating batch of {} tasks", requests.size());
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Task> drafts = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, null, errors);
+                continue;
+            }
+            indexes.add(i);
+            drafts.add(TaskMapper.toEntity(requests.get(i)));
+        }
+        List<Task> inserted = store.insertAll(drafts);
+        for (int i = 0; i < inserted.size(); i++) {
+            int index = indexes.get(i);
+            TaskResponse created = TaskMapper.toResponse(inserted.get(i));
+            results[index] = BatchItemResult.of(index, BatchItemResult.Status.CREATED, created);
+            eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, created));
+        }
+        changeTracker.recordChange();
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public List<BatchItemResult> completeTasks(List<Integer> ids) {
+        logger.info("Completing batch of {} tasks", ids.size());
+        Map<Integer, TaskResponse> updated = new HashMap<>();
+        List<Integer> changed = new ArrayList<>();
+        for (Integer id : ids.stream().filter(Objects::nonNull).distinct().toList()) {
+            Task task = store.update(id, candidate -> {
+                if (candidate.isCompleted()) {
+                    return false;
+                }
+                candidate.setCompleted(true);
+                changed.add(id);
+                return true;
+            });
+            if (task != null) {
+                updated.put(id, TaskMapper.toResponse(task));
+            }
+        }
+        // Tasks that were already complete were not written, as in setCompleted
+        if (!changed.isEmpty()) {
+            changeTracker.recordChange();
+            changed.forEach(id -> eventPublisher.publishEvent(
+                    TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, updated.get(id))));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            TaskResponse task = id == null ? null : updated.get(id);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(i, null, List.of("todo_id: must not be null")));
+            } else if (task == null) {
+                results.add(new BatchItemResult(i, id, BatchItemResult.Status.NOT_FOUND, null, null));
+            } else {
+                results.add(BatchItemResult.of(i, BatchItemResult.Status.UPDATED, task));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<BatchItemResult> deleteTasks(List<Integer> ids) {
+        logger.info("Deleting batch of {} tasks", ids.size());
+        Set<Integer> deleted = new LinkedHashSet<>();
+        for (Integer id : ids.stream().filter(Objects::nonNull).distinct().toList()) {
+            if (store.delete(id) != null) {
+                deleted.add(id);
+            }
+        }
+        changeTracker.recordChange();
+        deleted.forEach(id -> eventPublisher.publishEvent(TaskEvent.deleted(id)));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(i, null, List.of("todo_id: must not be null")));
+            } else {
+                BatchItemResult.Status status = deleted.contains(id)
+                        ? BatchItemResult.Status.DELETED
+                        : BatchItemResult.Status.NOT_FOUND;
+                results.add(new BatchItemResult(i, id, status, null, null));
+            }
+        }
+        return results;
+    }
+
+    private TaskResponse written(Integer id, Task updated, TaskEvent.Type type) {
+        if (updated == null) {
+            throw notFound(id);
+        }
+        changeTracker.recordChange();
+        TaskResponse response = TaskMapper.toResponse(updated);
+        eventPublisher.publishEvent(TaskEvent.of(type, response));
+        return response;
+    }
+
+    private List<String> validate(TaskRequest request) {
+        if (request == null) {
+            return List.of("task: must not be null");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private Task findOrThrow(Integer id) {
+        return findOrThrow(id, store.findById(id));
+    }
+
+    private Task findOrThrow(Integer id, Task task) {
+        if (task == null) {
+            throw notFound(id);
+        }
+        return task;
+    }
+
+    private static TaskNotFoundException notFound(Integer id) {
+        logger.warn("TaskNotFoundException: Task with ID {} not found", id);
+        return new TaskNotFoundException("Task not found with id: " + id);
+    }
+
+    private static List<TaskResponse> toResponses(List<Task> tasks) {
+        List<TaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            responses.add(TaskMapper.toResponse(task));
+        }
+        return responses;
+    }
+}
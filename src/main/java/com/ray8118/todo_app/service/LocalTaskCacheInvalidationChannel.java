@@ -0,0 +1,20 @@
+package com.ray8118.todo_app.service;
+
+import java.util.Collection;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Single-instance deployments: there is nobody else to tell. */
+@Component
+@ConditionalOnProperty(name = "todo.cache.invalidation-channel", havingValue = "local", matchIfMissing = true)
+public class LocalTaskCacheInvalidationChannel implements TaskCacheInvalidationChannel {
+
+    @Override
+    public void publish(Collection<Integer> ids) {
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.ray8118.todo_app.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process change counter for single-node setups and databases without the change trigger
+ * (for example the embedded database used by the benchmarks). Only sees this instance's writes.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.change-tracking", havingValue = "local")
+public class LocalTaskChangeTracker implements TaskChangeTracker {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public long currentVersion() {
+        return version.get();
+    }
+
+    @Override
+    public void recordChange() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ray8118.todo_app.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sends invalidations with {@code pg_notify} and receives them on a dedicated {@code LISTEN}
+ * connection opened outside the pool. Payloads are "{@code <instance> <id>,<id>,...}"; an instance
+ * ignores its own messages.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.cache.invalidation-channel", havingValue = "postgres")
+public class PostgresTaskCacheInvalidationChannel implements TaskCacheInvalidationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresTaskCacheInvalidationChannel.class);
+
+    static final String CHANNEL = "task_cache_invalidation";
+
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresTaskCacheInvalidationChannel(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void publish(Collection<Integer> ids) {
+        StringBuilder payload = new StringBuilder(instanceId).append(' ');
+        int header = payload.length();
+        for (Integer id : ids) {
+            if (payload.length() > MAX_PAYLOAD_LENGTH) {
+                notify(payload);
+                payload.setLength(header);
+            }
+            if (payload.length() > header) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        if (payload.length() > header) {
+            notify(payload);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Listener listener) {
+        if (listenerThread != null) {
+            throw new IllegalStateException("A listener is already subscribed");
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform().name("task-cache-invalidation").daemon()
+                .start(() -> listen(listener));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.join(5000);
+        }
+    }
+
+    private void notify(CharSequence payload) {
+        jdbcTemplate.queryForObject("select pg_notify(?, ?)", Object.class, CHANNEL, payload.toString());
+    }
+
+    private void listen(Listener listener) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    // Anything published while we were disconnected is lost
+                    listener.evictAll();
+                    logger.info("Cache invalidation listener reconnected");
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter(), listener);
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache invalidation listener lost its connection, retrying: {}", ex.getMessage());
+                reconnecting = true;
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    private void handle(String payload, Listener listener) {
+        int separator = payload.indexOf(' ');
+        if (separator < 0 || payload.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (String id : payload.substring(separator + 1).split(",")) {
+            try {
+                ids.add(Integer.valueOf(id));
+            } catch (NumberFormatException ex) {
+                logger.warn("Ignoring malformed cache invalidation payload: {}", payload);
+                listener.evictAll();
+                return;
+            }
+        }
+        listener.evict(ids);
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
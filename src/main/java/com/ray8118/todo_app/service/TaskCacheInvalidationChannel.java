@@ -0,0 +1,25 @@
+package com.ray8118.todo_app.service;
+
+import java.util.Collection;
+
+/**
+ * Carries task cache invalidations between application instances. Each instance caches tasks
+ * locally (Hibernate second-level cache and the service cache), so a write on one instance must
+ * evict the copies held by the others.
+ */
+public interface TaskCacheInvalidationChannel {
+
+    /** Tells the other instances that these tasks changed. */
+    void publish(Collection<Integer> ids);
+
+    /** Registers the callback for invalidations published by other instances. */
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void evict(Collection<Integer> ids);
+
+        /** Called when invalidations may have been missed, for example after a reconnect. */
+        void evictAll();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ray8118.todo_app.service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ray8118.todo_app.config.CacheConfig;
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.model.Task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the Hibernate second-level cache and the service cache consistent with committed writes.
+ *
+ * <p>Hibernate only invalidates what it writes itself; status changes ({@code UPDATE ... RETURNING})
+ * and write-behind flushes (plain JDBC) go around it without taking its soft locks, so every
+ * {@link TaskEvent} evicts the task here twice: when the write publishes it, inside its transaction,
+ * and again once it commits, which drops any copy a concurrent reader cached in between. The ids are then batched and sent to the other
+ * instances through the {@link TaskCacheInvalidationChannel}.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskCacheInvalidator implements TaskCacheInvalidationChannel.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheInvalidator.class);
+
+    private final org.hibernate.Cache secondLevelCache;
+    private final Cache taskCache;
+    private final TaskCacheInvalidationChannel channel;
+    private final Counter published;
+    private final Counter received;
+
+    // Guarded by "this"
+    private Set<Integer> pending = new LinkedHashSet<>();
+
+    public TaskCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheManager cacheManager,
+            TaskCacheInvalidationChannel channel, MeterRegistry meterRegistry) {
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.taskCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.channel = channel;
+        this.published = Counter.builder("todo.cache.invalidations")
+                .tag("direction", "published")
+                .description("Task ids sent to or received from other instances for cache eviction")
+                .register(meterRegistry);
+        this.received = Counter.builder("todo.cache.invalidations")
+                .tag("direction", "received")
+                .description("Task ids sent to or received from other instances for cache eviction")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        channel.subscribe(this);
+    }
+
+    @EventListener
+    public void onTaskWritten(TaskEvent event) {
+        secondLevelCache.evictEntityData(Task.class, event.getTodo_id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        // The service cache was already updated by the write itself
+        secondLevelCache.evictEntityData(Task.class, event.getTodo_id());
+        synchronized (this) {
+            pending.add(event.getTodo_id());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.cache.invalidation-interval:50ms}")
+    @PreDestroy
+    public void publishPending() {
+        Set<Integer> ids;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            ids = pending;
+            pending = new LinkedHashSet<>();
+        }
+        try {
+            channel.publish(ids);
+            published.increment(ids.size());
+        } catch (RuntimeException ex) {
+            // Other instances fall back to the cache time-to-live for these
+            logger.warn("Failed to publish cache invalidation for {} tasks", ids.size(), ex);
+        }
+    }
+
+    @Override
+    public void evict(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            secondLevelCache.evictEntityData(Task.class, id);
+            taskCache.evict(id);
+        }
+        received.increment(ids.size());
+        logger.debug("Evicted {} tasks changed on another instance", ids.size());
+    }
+
+    @Override
+    public void evictAll() {
+        secondLevelCache.evictEntityData(Task.class);
+        taskCache.clear();
+        logger.debug("Evicted all cached tasks");
+    }
+}
@@ -0,0 +1,16 @@
+package com.ray8118.todo_app.service;
+
+/**
+ * Cheap, monotonically increasing stamp for the task table as a whole. Anything derived from the
+ * full set of tasks (list ETags, cached responses) is still valid while the stamp is unchanged.
+ */
+public interface TaskChangeTracker {
+
+    long currentVersion();
+
+    /**
+     * Called by write paths inside their transaction; implementations that track changes
+     * themselves advance the stamp once the transaction commits.
+     */
+    void recordChange();
+}
@@ -0,0 +1,38 @@
+package com.ray8118.todo_app.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.ray8118.todo_app.exception.InvalidCursorException;
+
+/**
+ * Encodes the keyset position of a page as an opaque token so clients do not
+ * depend on the cursor being a raw task id.
+ */
+final class TaskCursor {
+
+    private static final String PREFIX = "id:";
+
+    private TaskCursor() {
+    }
+
+    static String encode(int lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return Integer.parseInt(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
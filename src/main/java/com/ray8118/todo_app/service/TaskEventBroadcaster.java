@@ -0,0 +1,244 @@
+package com.ray8118.todo_app.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ray8118.todo_app.dto.TaskEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans committed task changes out to server-sent event subscribers.
+ *
+ * <p>Idle subscribers hold no thread: events are queued per subscriber and written by a short-lived
+ * virtual thread only while there is something to send. A subscriber whose queue fills up, for
+ * example under a batch write that announces every row, has its backlog replaced by a single
+ * {@code reset} event and stays connected. A subscriber that reconnects with {@code Last-Event-ID}
+ * catches up from the ring buffer of recent events, or receives a {@code reset} event when it has
+ * fallen further behind than the buffer reaches.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    static final String RESET_EVENT = "reset";
+
+    private static final Frame HEARTBEAT = new Frame(0, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter resetSlow;
+
+    // Guarded by "this": event ids, the ring buffer and subscriber registration move together,
+    // so a resuming subscriber sees every event exactly once.
+    private final Frame[] recent;
+    private long lastEventId;
+
+    public TaskEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${todo.events.buffer-size:1024}") int bufferSize,
+            @Value("${todo.events.subscriber-queue:256}") int queueCapacity,
+            @Value("${todo.events.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.recent = new Frame[bufferSize];
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.resetSlow = Counter.builder("todo.events.reset.slow")
+                .description("Event subscribers sent a reset because they fell too far behind")
+                .register(meterRegistry);
+        Gauge.builder("todo.events.subscribers", subscribers, Set::size)
+                .description("Connected task event subscribers")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String lastEventIdHeader) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        Long resumeFrom = parseEventId(lastEventIdHeader);
+        synchronized (this) {
+            if (resumeFrom != null) {
+                replay(subscriber, resumeFrom);
+            }
+            subscribers.add(subscriber);
+        }
+        logger.debug("Event subscriber connected (resuming from {}), {} connected", resumeFrom, subscribers.size());
+        subscriber.schedule();
+        return emitter;
+    }
+
+    // Runs after the publishing transaction commits, so rolled-back writes are never announced
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            logger.error("Could not serialize task event for task {}", event.getTodo_id(), ex);
+            return;
+        }
+        String name = event.getType().name().toLowerCase();
+        synchronized (this) {
+            Frame frame = new Frame(++lastEventId, name, data);
+            recent[(int) (frame.id() % recent.length)] = frame;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+    }
+
+    // Lets proxies and load balancers see traffic on idle connections, and surfaces dead ones
+    @Scheduled(fixedDelayString = "${todo.events.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+            subscriber.schedule();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Closes streams before the web server stops, so clients see a clean end and reconnect elsewhere
+    @EventListener(ContextClosedEvent.class)
+    public void disconnectAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException ex) {
+                logger.debug("Event subscriber already gone: {}", ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void replay(Subscriber subscriber, long resumeFrom) {
+        long oldestBuffered = Math.max(1, lastEventId - recent.length + 1);
+        long missed = lastEventId - resumeFrom;
+        if (resumeFrom > lastEventId || resumeFrom < oldestBuffered - 1 || missed > queueCapacity) {
+            // Unknown id (for example from before a restart) or too far behind: the client refetches
+            subscriber.offer(new Frame(lastEventId, RESET_EVENT, "{}"));
+            return;
+        }
+        for (long id = resumeFrom + 1; id <= lastEventId; id++) {
+            subscriber.offer(recent[(int) (id % recent.length)]);
+        }
+    }
+
+    private static Long parseEventId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    private record Frame(long id, String name, String data) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> queue = new LinkedBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            if (closed || queue.offer(frame) || frame == HEARTBEAT) {
+                return;
+            }
+            // Too far behind to catch up event by event: the client refetches and carries on from here
+            logger.warn("Resetting slow event subscriber with {} events queued", queue.size());
+            resetSlow.increment();
+            queue.clear();
+            queue.offer(new Frame(frame.id(), RESET_EVENT, "{}"));
+        }
+
+        void schedule() {
+            if (!closed && !queue.isEmpty() && sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed && (frame = queue.poll()) != null) {
+                    emitter.send(toEvent(frame));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Event subscriber went away: {}", ex.getMessage());
+                close();
+            } finally {
+                sending.set(false);
+            }
+            // Picks up a frame offered between the last poll and clearing the flag
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+            subscribers.remove(this);
+        }
+
+        private static SseEmitter.SseEventBuilder toEvent(Frame frame) {
+            if (frame == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(Long.toString(frame.id()))
+                    .name(frame.name())
+                    .data(frame.data(), MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.ray8118.todo_app.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Sort;
+
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
 import com.ray8118.todo_app.dto.TaskRequest;
 import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
 
 public interface TaskService {
     List<TaskResponse> getAllTasks();
 
+    TaskPage getTasksPage(String after, int limit);
+
+    void streamAllTasks(Consumer<TaskResponse> consumer);
+
+    long getTasksVersion();
+
+    TaskStats getTaskStats();
+
     Optional<TaskResponse> getTaskById(Integer id);
 
     TaskResponse getTaskOrThrow(Integer id);
@@ -17,11 +33,30 @@ public interface TaskService {
 
     TaskResponse updateTask(Integer id, TaskRequest request);
 
+    TaskResponse updateTask(Integer id, TaskRequest request, Long expectedVersion);
+
     TaskResponse updateStatus(Integer id);
 
+    TaskResponse setCompleted(Integer id, boolean completed);
+
     List<TaskResponse> filterTasksByStatus(Boolean completed);
 
     List<TaskResponse> searchTasksByTitle(String title);
 
+    List<TaskResponse> searchTasksByTitle(String title, int page, int size);
+
+    List<TaskResponse> getTasksDueBetween(LocalDate from, LocalDate to, boolean completed, Sort.Direction order,
+            int page, int size);
+
+    List<TaskResponse> getOverdueTasks(Sort.Direction order, int page, int size);
+
+    List<TaskResponse> queryTasks(TaskQuery query);
+
     void deleteTask(Integer id);
+
+    List<BatchItemResult> createTasks(List<TaskRequest> requests);
+
+    List<BatchItemResult> completeTasks(List<Integer> ids);
+
+    List<BatchItemResult> deleteTasks(List<Integer> ids);
 }
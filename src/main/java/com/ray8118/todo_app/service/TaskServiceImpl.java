@@ -1,44 +1,130 @@
 package com.ray8118.todo_app.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ray8118.todo_app.config.CacheConfig;
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
 import com.ray8118.todo_app.dto.TaskRequest;
 import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.exception.InvalidQueryException;
 import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.exception.TaskVersionMismatchException;
 import com.ray8118.todo_app.mapper.TaskMapper;
 import com.ray8118.todo_app.model.Task;
 import com.ray8118.todo_app.repository.TaskRepository;
+import com.ray8118.todo_app.repository.TaskSpecifications;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "jpa", matchIfMissing = true)
 public class TaskServiceImpl implements TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
 
+    static final int MAX_PAGE_SIZE = 1000;
+
+    // Request names accepted by /tasks/query, mapped to entity properties
+    private static final Map<String, String> QUERY_SORT_PROPERTIES = Map.of(
+            "todo_id", "todo_id", "title", "title", "dueDate", "dueDate", "completed", "isCompleted");
+
+    // Rows flushed per chunk in batch operations; a multiple of hibernate.jdbc.batch_size
+    static final int BATCH_CHUNK_SIZE = 500;
+
     private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TaskChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatistics statistics;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, EntityManager entityManager, Validator validator,
+            TaskChangeTracker changeTracker, ApplicationEventPublisher eventPublisher, TaskStatistics statistics) {
         this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.statistics = statistics;
     }
 
     @Override
+    public long getTasksVersion() {
+        return changeTracker.currentVersion();
+    }
+
+    @Override
+    public TaskStats getTaskStats() {
+        return statistics.snapshot();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
         logger.debug("Fetching all tasks from repository");
-        List<TaskResponse> tasks = taskRepository.findAll()
-                .stream()
-                .map(TaskMapper::toResponse)
-                .toList();
+        List<TaskResponse> tasks = taskRepository.findAllResponses();
         logger.debug("Found {} tasks.", tasks.size());
         return tasks;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTasksPage(String after, int limit) {
+        int afterId = TaskCursor.decode(after);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        logger.debug("Fetching page of {} tasks after ID {}", pageSize, afterId);
+        // One extra row tells us whether another page exists without a count query
+        List<TaskResponse> rows = taskRepository.findPageAfter(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskResponse> tasks = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? TaskCursor.encode(tasks.get(tasks.size() - 1).getTodo_id()) : null;
+        logger.debug("Returning page of {} tasks, hasMore={}", tasks.size(), hasMore);
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<TaskResponse> consumer) {
+        logger.debug("Streaming all tasks from repository");
+        // Rows are projected straight to DTOs, so nothing accumulates in the persistence context
+        try (Stream<TaskResponse> tasks = taskRepository.streamAllOrderById()) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#id", unless = "#result == null")
     public Optional<TaskResponse> getTaskById(Integer id) {
         logger.debug("Attempting to retrieve task with ID: {}", id);
         Optional<TaskResponse> task = taskRepository.findById(id)
@@ -53,6 +139,8 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Coalesced
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     public TaskResponse getTaskOrThrow(Integer id) {
         logger.debug("Attempting to retrieve task with ID : {}", id);
         Task task = taskRepository.findById(id)
@@ -67,72 +155,373 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#result.todo_id")
     public TaskResponse createTask(TaskRequest request) {
         logger.info("Creating new task with title: {}", request.getTitle());
         Task task = TaskMapper.toEntity(request);
         Task savedTask = taskRepository.save(task);
+        changeTracker.recordChange();
         logger.info("Task created in DB with ID: {}", savedTask.getTodo_id());
-        return TaskMapper.toResponse(savedTask);
+        TaskResponse response = TaskMapper.toResponse(savedTask);
+        statistics.recordCreated(response);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, response));
+        return response;
     }
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     public TaskResponse updateTask(Integer id, TaskRequest request) {
+        return applyUpdate(id, request, null);
+    }
+
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public TaskResponse updateTask(Integer id, TaskRequest request, Long expectedVersion) {
+        return applyUpdate(id, request, expectedVersion);
+    }
+
+    private TaskResponse applyUpdate(Integer id, TaskRequest request, Long expectedVersion) {
         logger.info("Attempting to update task with ID: {} with details: {}", id, request.getTitle());
         Task existingTask = getTaskOrThrowEntity(id);
+        if (expectedVersion != null && existingTask.getVersion() != expectedVersion) {
+            logger.warn("Version mismatch updating task with ID {}: expected {}, found {}", id, expectedVersion,
+                    existingTask.getVersion());
+            throw new TaskVersionMismatchException("Task with id " + id + " has been modified (version "
+                    + existingTask.getVersion() + ")");
+        }
+        TaskResponse before = TaskMapper.toResponse(existingTask);
         existingTask.setTitle(request.getTitle());
         existingTask.setDescription(request.getDescription());
         existingTask.setDueDate(request.getDueDate());
-        Task updatedTask = taskRepository.save(existingTask);
+        // Flush so the optimistic-lock check runs now and the response carries the new version
+        Task updatedTask = taskRepository.saveAndFlush(existingTask);
+        changeTracker.recordChange();
         logger.info("Task with ID: {} updated successfully.", id);
-        return TaskMapper.toResponse(updatedTask);
+        TaskResponse response = TaskMapper.toResponse(updatedTask);
+        statistics.recordUpdated(before, response);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED, response));
+        return response;
     }
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     public TaskResponse updateStatus(Integer id) {
         logger.info("Attempting to update status for task with ID: {}", id);
-        Task existingTask = getTaskOrThrowEntity(id);
-        boolean newStatus = !existingTask.isCompleted();
-        existingTask.setCompleted(newStatus);
+        TaskResponse response = taskRepository.toggleCompleted(id)
+                .orElseThrow(() -> {
+                    logger.warn("TaskNotFoundException: Task entity with ID {} not found", id);
+                    return new TaskNotFoundException("Task not found with id: " + id);
+                });
+        changeTracker.recordChange();
+        logger.info("Status for task with ID: {} updated to {}.", id, response.isCompleted());
+        statistics.recordStatusChanged(response);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, response));
+        return response;
+    }
 
-        Task updatedTask = taskRepository.save(existingTask);
-        logger.info("Status for task with ID: {} updated to {}.", id, newStatus);
-        return TaskMapper.toResponse(updatedTask);
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public TaskResponse setCompleted(Integer id, boolean completed) {
+        logger.info("Attempting to set completed={} for task with ID: {}", completed, id);
+        Optional<TaskResponse> changed = taskRepository.updateCompletedIfChanged(id, completed);
+        if (changed.isEmpty()) {
+            // Already in the requested state (or missing): nothing was written
+            logger.debug("Task with ID {} already has completed={}", id, completed);
+            return TaskMapper.toResponse(getTaskOrThrowEntity(id));
+        }
+        changeTracker.recordChange();
+        logger.info("Status for task with ID: {} updated to {}.", id, completed);
+        TaskResponse response = changed.get();
+        statistics.recordStatusChanged(response);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, response));
+        return response;
     }
 
     @Override
+    @Coalesced
+    @Transactional(readOnly = true)
     public List<TaskResponse> filterTasksByStatus(Boolean completed) {
         logger.debug("Filtering tasks by completed status: {}", completed);
-        List<Task> tasks = (completed == null)
-                ? taskRepository.findAll()
-                : taskRepository.findByIsCompleted(completed);
+        List<TaskResponse> response = (completed == null)
+                ? taskRepository.findAllResponses()
+                : taskRepository.findResponsesByIsCompleted(completed);
 
-        List<TaskResponse> response = tasks.stream().map(TaskMapper::toResponse).toList();
         logger.debug("Found {} tasks with completed status: {}", response.size(), completed);
         return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> searchTasksByTitle(String title) {
         logger.debug("Searching tasks by title: {}", title);
-        List<TaskResponse> response = taskRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(TaskMapper::toResponse)
-                .toList();
+        if (title == null) {
+            return List.of();
+        }
+        List<TaskResponse> response = taskRepository.searchResponsesByTitle(containsPattern(title), title);
         logger.debug("Found {} tasks matching title: {}", response.size(), title);
         return response;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasksByTitle(String title, int page, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        logger.debug("Searching tasks by title: {} (page {}, size {})", title, page, pageSize);
+        if (title == null) {
+            return List.of();
+        }
+        List<TaskResponse> response = taskRepository.searchResponsesByTitle(containsPattern(title), title,
+                PageRequest.of(Math.max(page, 0), pageSize));
+        logger.debug("Found {} tasks matching title: {} on page {}", response.size(), title, page);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksDueBetween(LocalDate from, LocalDate to, boolean completed,
+            Sort.Direction order, int page, int size) {
+        if (from.isAfter(to)) {
+            throw new InvalidQueryException("from (" + from + ") must not be after to (" + to + ")");
+        }
+        logger.debug("Fetching tasks due between {} and {} with completed status: {}", from, to, completed);
+        List<TaskResponse> tasks = taskRepository.findResponsesDueBetween(completed, from, to,
+                dueDatePage(order, page, size));
+        logger.debug("Found {} tasks due between {} and {}", tasks.size(), from, to);
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getOverdueTasks(Sort.Direction order, int page, int size) {
+        LocalDate today = LocalDate.now();
+        logger.debug("Fetching open tasks due before {}", today);
+        List<TaskResponse> tasks = taskRepository.findOverdueResponses(today, dueDatePage(order, page, size));
+        logger.debug("Found {} overdue tasks", tasks.size());
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> queryTasks(TaskQuery query) {
+        logger.debug("Querying tasks: completed={}, title={}, due {}..{}, id {}..{}", query.getCompleted(),
+                query.getTitle(), query.getDueFrom(), query.getDueTo(), query.getIdFrom(), query.getIdTo());
+        if (query.getDueFrom() != null && query.getDueTo() != null && query.getDueFrom().isAfter(query.getDueTo())) {
+            throw new InvalidQueryException("dueFrom (" + query.getDueFrom() + ") must not be after dueTo ("
+                    + query.getDueTo() + ")");
+        }
+        if (query.getIdFrom() != null && query.getIdTo() != null && query.getIdFrom() > query.getIdTo()) {
+            throw new InvalidQueryException("idFrom (" + query.getIdFrom() + ") must not be greater than idTo ("
+                    + query.getIdTo() + ")");
+        }
+        String sortProperty = QUERY_SORT_PROPERTIES.get(query.getSort());
+        if (sortProperty == null) {
+            throw new InvalidQueryException("sort must be one of " + QUERY_SORT_PROPERTIES.keySet() + ", got: "
+                    + query.getSort());
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(query.getOrder())
+                .orElseThrow(() -> new InvalidQueryException("order must be 'asc' or 'desc', got: " + query.getOrder()));
+
+        List<Specification<Task>> filters = new ArrayList<>();
+        if (query.getCompleted() != null) {
+            filters.add(TaskSpecifications.isCompleted(query.getCompleted()));
+        }
+        if (query.getTitle() != null && !query.getTitle().isBlank()) {
+            filters.add(TaskSpecifications.titleLike(containsPattern(query.getTitle())));
+        }
+        if (query.getDueFrom() != null) {
+            filters.add(TaskSpecifications.dueOnOrAfter(query.getDueFrom()));
+        }
+        if (query.getDueTo() != null) {
+            filters.add(TaskSpecifications.dueOnOrBefore(query.getDueTo()));
+        }
+        if (query.getIdFrom() != null) {
+            filters.add(TaskSpecifications.idAtLeast(query.getIdFrom()));
+        }
+        if (query.getIdTo() != null) {
+            filters.add(TaskSpecifications.idAtMost(query.getIdTo()));
+        }
+        // todo_id last keeps the order stable when the sort column has duplicates
+        Sort sort = Sort.by(direction, sortProperty);
+        if (!"todo_id".equals(sortProperty)) {
+            sort = sort.and(Sort.by(direction, "todo_id"));
+        }
+        List<TaskResponse> tasks = taskRepository.findResponses(Specification.allOf(filters), sort,
+                Math.clamp(query.getLimit(), 1, MAX_PAGE_SIZE));
+        logger.debug("Found {} tasks matching query", tasks.size());
+        return tasks;
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
     public void deleteTask(Integer id) {
         logger.info("Attempting to delete task with ID : {}", id);
         Task existingTask = getTaskOrThrowEntity(id);
         taskRepository.delete(existingTask);
+        changeTracker.recordChange();
+        statistics.recordDeleted(TaskMapper.toResponse(existingTask));
+        eventPublisher.publishEvent(TaskEvent.deleted(id));
         logger.info("Task with ID {} deleted from DB.", id);
     }
 
+    @Override
+    @Transactional
+    public List<BatchItemResult> createTasks(List<TaskRequest> requests) {
+        logger.info("Creating batch of {} tasks", requests.size());
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> pendingIndexes = new ArrayList<>(BATCH_CHUNK_SIZE);
+        List<Task> pendingTasks = new ArrayList<>(BATCH_CHUNK_SIZE);
+
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, null, errors);
+                continue;
+            }
+            pendingIndexes.add(i);
+            pendingTasks.add(TaskMapper.toEntity(request));
+            if (pendingTasks.size() == BATCH_CHUNK_SIZE) {
+                insertChunk(pendingIndexes, pendingTasks, results);
+            }
+        }
+        insertChunk(pendingIndexes, pendingTasks, results);
+        changeTracker.recordChange();
+        logger.info("Batch create finished for {} tasks", requests.size());
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<BatchItemResult> completeTasks(List<Integer> ids) {
+        logger.info("Completing batch of {} tasks", ids.size());
+        Map<Integer, TaskResponse> updated = new HashMap<>();
+        Set<Integer> changedIds = new HashSet<>();
+        for (List<Integer> chunk : chunks(ids)) {
+            List<Task> tasks = taskRepository.findAllById(chunk);
+            List<Task> changed = tasks.stream().filter(task -> !task.isCompleted()).toList();
+            changed.forEach(task -> task.setCompleted(true));
+            // Dirty entities are written as one JDBC batch of UPDATE statements
+            entityManager.flush();
+            tasks.forEach(task -> updated.put(task.getTodo_id(), TaskMapper.toResponse(task)));
+            changed.forEach(task -> {
+                changedIds.add(task.getTodo_id());
+                statistics.recordStatusChanged(updated.get(task.getTodo_id()));
+            });
+            entityManager.clear();
+        }
+        // Tasks that were already complete were not written, as in setCompleted
+        if (!changedIds.isEmpty()) {
+            changeTracker.recordChange();
+            ids.stream().filter(Objects::nonNull).distinct().filter(changedIds::contains)
+                    .forEach(id -> eventPublisher.publishEvent(
+                            TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, updated.get(id))));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            TaskResponse task = id == null ? null : updated.get(id);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(i, null, List.of("todo_id: must not be null")));
+            } else if (task == null) {
+                results.add(new BatchItemResult(i, id, BatchItemResult.Status.NOT_FOUND, null, null));
+            } else {
+                results.add(BatchItemResult.of(i, BatchItemResult.Status.UPDATED, task));
+            }
+        }
+        logger.info("Batch complete finished: {} of {} tasks updated", updated.size(), ids.size());
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<BatchItemResult> deleteTasks(List<Integer> ids) {
+        logger.info("Deleting batch of {} tasks", ids.size());
+        Set<Integer> deleted = new HashSet<>();
+        for (List<Integer> chunk : chunks(ids)) {
+            List<TaskResponse> existing = taskRepository.findResponsesByIds(chunk);
+            List<Integer> existingIds = existing.stream().map(TaskResponse::getTodo_id).toList();
+            taskRepository.deleteAllByIdInBatch(existingIds);
+            existing.forEach(statistics::recordDeleted);
+            deleted.addAll(existingIds);
+        }
+        changeTracker.recordChange();
+        deleted.forEach(id -> eventPublisher.publishEvent(TaskEvent.deleted(id)));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(i, null, List.of("todo_id: must not be null")));
+            } else {
+                BatchItemResult.Status status = deleted.contains(id)
+                        ? BatchItemResult.Status.DELETED
+                        : BatchItemResult.Status.NOT_FOUND;
+                results.add(new BatchItemResult(i, id, status, null, null));
+            }
+        }
+        logger.info("Batch delete finished: {} of {} tasks deleted", deleted.size(), ids.size());
+        return results;
+    }
+
+    private void insertChunk(List<Integer> indexes, List<Task> tasks, BatchItemResult[] results) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        // Ids come from the pooled sequence, so the inserts are sent as one JDBC batch on flush
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        for (int i = 0; i < tasks.size(); i++) {
+            int index = indexes.get(i);
+            TaskResponse created = TaskMapper.toResponse(tasks.get(i));
+            results[index] = BatchItemResult.of(index, BatchItemResult.Status.CREATED, created);
+            statistics.recordCreated(created);
+            eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, created));
+        }
+        entityManager.clear();
+        indexes.clear();
+        tasks.clear();
+    }
+
+    private List<String> validate(TaskRequest request) {
+        if (request == null) {
+            return List.of("task: must not be null");
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    // Same semantics as a derived "Containing" query: wildcards in the input match literally
+    private static String containsPattern(String title) {
+        String escaped = title.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    // Matches the index order, so the database reads rows in order and stops after one page
+    private static PageRequest dueDatePage(Sort.Direction order, int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE),
+                Sort.by(order, "dueDate", "todo_id"));
+    }
+
+    private static List<List<Integer>> chunks(List<Integer> ids) {
+        List<Integer> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
     private Task getTaskOrThrowEntity(Integer id) {
         logger.debug("Attempting to retrieve task entity with ID: {}", id);
         Task task = taskRepository.findById(id)
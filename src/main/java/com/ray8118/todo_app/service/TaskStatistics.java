@@ -0,0 +1,233 @@
+package com.ray8118.todo_app.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+/**
+ * Task counts kept up to date by the write paths, so reading them costs the same whatever the
+ * size of the table.
+ *
+ * <p>Open tasks are counted per due date; when the date moves on, the counts for days that have
+ * passed are folded into the overdue total. Changes are applied once their transaction commits.
+ * The counters only see this instance's writes, so they are periodically replaced by counts read
+ * from the database.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatistics.class);
+
+    // Reconciliation gives up for this round after this many attempts overlapped with local writes
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TaskRepository taskRepository;
+    private final Clock clock;
+
+    // Guarded by "this"
+    private long total;
+    private long completed;
+    private long overdue;
+    private final NavigableMap<LocalDate, Long> openByDueDate = new TreeMap<>();
+    private LocalDate today;
+    private long applied;
+    // Transactions past beforeCommit whose delta has not been applied yet
+    private int committing;
+    private volatile boolean reconciled;
+
+    @Autowired
+    public TaskStatistics(TaskRepository taskRepository) {
+        this(taskRepository, Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(TaskRepository taskRepository, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+    }
+
+    public TaskStats snapshot() {
+        if (!reconciled) {
+            reconcile();
+        }
+        synchronized (this) {
+            rollOver();
+            return new TaskStats(total, completed, total - completed, overdue);
+        }
+    }
+
+    public void recordCreated(TaskResponse task) {
+        record(delta -> delta.add(task, 1));
+    }
+
+    public void recordUpdated(TaskResponse before, TaskResponse after) {
+        if (before.isCompleted() == after.isCompleted() && before.getDueDate().equals(after.getDueDate())) {
+            return;
+        }
+        record(delta -> {
+            delta.add(before, -1);
+            delta.add(after, 1);
+        });
+    }
+
+    /** For writes that flipped the completed flag and nothing else. */
+    public void recordStatusChanged(TaskResponse after) {
+        record(delta -> {
+            delta.add(after.isCompleted(), after.getDueDate(), 1);
+            delta.add(!after.isCompleted(), after.getDueDate(), -1);
+        });
+    }
+
+    public void recordDeleted(TaskResponse task) {
+        record(delta -> delta.add(task, -1));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long appliedBefore;
+            synchronized (this) {
+                appliedBefore = applied;
+            }
+            List<TaskRepository.TaskCount> counts = taskRepository.countByStatusAndDueDate();
+            synchronized (this) {
+                // A change applied while the query ran, or committed but not applied yet, may or may
+                // not be in its result
+                if (applied != appliedBefore || committing > 0) {
+                    continue;
+                }
+                long previousTotal = total;
+                long previousCompleted = completed;
+                total = 0;
+                completed = 0;
+                overdue = 0;
+                openByDueDate.clear();
+                today = LocalDate.now(clock);
+                Delta delta = new Delta();
+                counts.forEach(count -> delta.add(count.getCompleted(), count.getDueDate(), count.getTasks()));
+                apply(delta);
+                reconciled = true;
+                if (total != previousTotal || completed != previousCompleted) {
+                    logger.info("Task statistics reconciled: total {} -> {}, completed {} -> {}", previousTotal,
+                            total, previousCompleted, completed);
+                }
+                return;
+            }
+        }
+        logger.debug("Task statistics reconciliation overlapped with writes {} times; retrying next round",
+                RECONCILE_ATTEMPTS);
+    }
+
+    private void record(Consumer<Delta> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Delta delta = new Delta();
+            change.accept(delta);
+            synchronized (this) {
+                apply(delta);
+            }
+            return;
+        }
+        // One delta per transaction, applied once after commit however many tasks it touched
+        Delta delta = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (delta == null) {
+            Delta created = new Delta();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean counted;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    synchronized (TaskStatistics.this) {
+                        committing++;
+                    }
+                    counted = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    synchronized (TaskStatistics.this) {
+                        apply(created);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskStatistics.this);
+                    if (counted) {
+                        synchronized (TaskStatistics.this) {
+                            committing--;
+                        }
+                    }
+                }
+            });
+            delta = created;
+        }
+        change.accept(delta);
+    }
+
+    private void apply(Delta delta) {
+        rollOver();
+        total += delta.total;
+        completed += delta.completed;
+        delta.openByDueDate.forEach((dueDate, count) -> {
+            if (count == 0) {
+                return;
+            }
+            if (dueDate.isBefore(today)) {
+                overdue += count;
+            } else {
+                openByDueDate.merge(dueDate, count, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        });
+        applied++;
+    }
+
+    private void rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (!now.isAfter(today)) {
+            return;
+        }
+        NavigableMap<LocalDate, Long> passed = openByDueDate.headMap(now, false);
+        passed.values().forEach(count -> overdue += count);
+        passed.clear();
+        today = now;
+    }
+
+    private static final class Delta {
+        private long total;
+        private long completed;
+        private final Map<LocalDate, Long> openByDueDate = new HashMap<>();
+
+        void add(TaskResponse task, long sign) {
+            add(task.isCompleted(), task.getDueDate(), sign);
+        }
+
+        void add(boolean isCompleted, LocalDate dueDate, long count) {
+            total += count;
+            if (isCompleted) {
+                completed += count;
+            } else {
+                openByDueDate.merge(dueDate, count, Long::sum);
+            }
+        }
+    }
+}
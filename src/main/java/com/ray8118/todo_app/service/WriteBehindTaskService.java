@@ -0,0 +1,479 @@
+package com.ray8118.todo_app.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ray8118.todo_app.config.CacheConfig;
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.mapper.TaskMapper;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind front for {@link TaskServiceImpl}. Title/description/due-date updates and status
+ * changes are acknowledged once they are in the local {@link TaskWriteLog}; the latest state per task
+ * is kept in memory and a background worker writes it to the database in JDBC batches. Repeated
+ * changes to the same task inside one flush interval cost a single UPDATE.
+ *
+ * <p>Single-task reads see pending changes. Everything else goes to the database and flushes
+ * pending changes first, so lists never show older state than a single-task read and other writes
+ * never act on it; those writes also hold new changes off until they commit. Task statistics follow the database: a change is counted once its flush has
+ * written the row. Meant for a single instance: another node would not see changes that are still
+ * pending here.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "todo.write-behind.enabled", havingValue = "true")
+public class WriteBehindTaskService implements TaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindTaskService.class);
+
+    // The version guard makes flushes idempotent: replaying an entry that already reached the
+    // database matches no row. Direct writes hold new changes off while they run, so a pending
+    // change is never numbered from a version one of them replaces
+    private static final String FLUSH_SQL = "update task set title = ?, description = ?, due_date = ?,"
+            + " is_completed = ?, version = ? where todo_id = ? and version < ?";
+
+    // base is the task as last written to the database, what the statistics counted
+    private record Pending(TaskResponse task, TaskEvent.Type type, TaskResponse base) {
+    }
+
+    private final TaskServiceImpl delegate;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache taskCache;
+    private final ObjectMapper objectMapper;
+    private final TaskStatistics statistics;
+    private final Path logDirectory;
+    private final Duration flushInterval;
+    private final int maxBatch;
+
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[64];
+    // Appends hold the read lock; a flush takes the write lock to snapshot and rotate the log together
+    private final ReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-write-behind").daemon().factory());
+    private final Counter coalesced;
+    private final Timer flushTimer;
+
+    private TaskWriteLog log;
+    // Set under the rotation write lock, so no append can start once stop() has seen it
+    private volatile boolean stopped;
+    // Guarded by flushLock
+    private boolean closed;
+
+    public WriteBehindTaskService(TaskServiceImpl delegate, TaskRepository taskRepository, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, TaskChangeTracker changeTracker,
+            ApplicationEventPublisher eventPublisher, CacheManager cacheManager, ObjectMapper objectMapper,
+            TaskStatistics statistics, MeterRegistry meterRegistry,
+            @Value("${todo.write-behind.log-dir:data/write-behind}") String logDirectory,
+            @Value("${todo.write-behind.flush-interval:200ms}") Duration flushInterval,
+            @Value("${todo.write-behind.max-batch:500}") int maxBatch) {
+        this.delegate = delegate;
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.taskCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.objectMapper = objectMapper;
+        this.statistics = statistics;
+        this.logDirectory = Path.of(logDirectory);
+        this.flushInterval = flushInterval;
+        this.maxBatch = maxBatch;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        this.coalesced = Counter.builder("todo.write-behind.coalesced")
+                .description("Task changes absorbed by a pending change to the same task")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("todo.write-behind.flush")
+                .description("Time spent writing pending task changes to the database")
+                .register(meterRegistry);
+        Gauge.builder("todo.write-behind.pending", pending, Map::size)
+                .description("Tasks with changes not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        log = new TaskWriteLog(logDirectory, objectMapper);
+        List<TaskWriteLog.Entry> unflushed = log.readUnflushed();
+        Map<Integer, TaskResponse> stored = new HashMap<>();
+        taskRepository.findAllById(unflushed.stream().map(TaskWriteLog.Entry::todo_id).distinct().toList())
+                .forEach(task -> stored.put(task.getTodo_id(), TaskMapper.toResponse(task)));
+        for (TaskWriteLog.Entry entry : unflushed) {
+            pending.put(entry.todo_id(), new Pending(entry.toResponse(), TaskEvent.Type.UPDATED,
+                    stored.get(entry.todo_id())));
+        }
+        if (!unflushed.isEmpty()) {
+            logger.warn("Recovered {} write-behind log entries for {} tasks; they are written on the first flush",
+                    unflushed.size(), pending.size());
+        }
+        long intervalMillis = flushInterval.toMillis();
+        worker.scheduleWithFixedDelay(this::flushQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Write-behind enabled: log in {}, flushing every {} ms", logDirectory.toAbsolutePath(),
+                intervalMillis);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+        // Waits for appends in progress; later ones are rejected instead of writing to a closed log
+        rotationLock.writeLock().lock();
+        try {
+            stopped = true;
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+        synchronized (flushLock) {
+            try {
+                flush();
+                logger.info("Write-behind drained on shutdown");
+            } catch (RuntimeException ex) {
+                logger.error("Could not drain {} pending task changes; they will be replayed from the log on restart",
+                        pending.size(), ex);
+            } finally {
+                closed = true;
+                log.close();
+            }
+        }
+    }
+
+    @Override
+    public TaskResponse updateTask(Integer id, TaskRequest request) {
+        logger.info("Queueing update for task with ID: {}", id);
+        return mutate(id, TaskEvent.Type.UPDATED, current -> new TaskResponse(id, request.getTitle(),
+                request.getDescription(), current.isCompleted(), request.getDueDate(), current.getVersion()));
+    }
+
+    @Override
+    public TaskResponse updateStatus(Integer id) {
+        logger.info("Queueing status toggle for task with ID: {}", id);
+        return mutate(id, TaskEvent.Type.STATUS_CHANGED, current -> withCompleted(current, !current.isCompleted()));
+    }
+
+    @Override
+    public TaskResponse setCompleted(Integer id, boolean completed) {
+        logger.info("Queueing completed={} for task with ID: {}", completed, id);
+        return mutate(id, TaskEvent.Type.STATUS_CHANGED,
+                current -> current.isCompleted() == completed ? current : withCompleted(current, completed));
+    }
+
+    @Override
+    public TaskResponse getTaskOrThrow(Integer id) {
+        Pending change = pending.get(id);
+        return change != null ? change.task() : delegate.getTaskOrThrow(id);
+    }
+
+    @Override
+    public Optional<TaskResponse> getTaskById(Integer id) {
+        Pending change = pending.get(id);
+        return change != null ? Optional.of(change.task()) : delegate.getTaskById(id);
+    }
+
+    @Override
+    public TaskResponse updateTask(Integer id, TaskRequest request, Long expectedVersion) {
+        return writeThrough(() -> delegate.updateTask(id, request, expectedVersion));
+    }
+
+    @Override
+    public void deleteTask(Integer id) {
+        writeThrough(() -> {
+            delegate.deleteTask(id);
+            return null;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> completeTasks(List<Integer> ids) {
+        return writeThrough(() -> delegate.completeTasks(ids));
+    }
+
+    @Override
+    public List<BatchItemResult> deleteTasks(List<Integer> ids) {
+        return writeThrough(() -> delegate.deleteTasks(ids));
+    }
+
+    @Override
+    public TaskResponse createTask(TaskRequest request) {
+        return delegate.createTask(request);
+    }
+
+    @Override
+    public List<BatchItemResult> createTasks(List<TaskRequest> requests) {
+        return delegate.createTasks(requests);
+    }
+
+    @Override
+    public List<TaskResponse> getAllTasks() {
+        flush();
+        return delegate.getAllTasks();
+    }
+
+    @Override
+    public TaskPage getTasksPage(String after, int limit) {
+        flush();
+        return delegate.getTasksPage(after, limit);
+    }
+
+    @Override
+    public void streamAllTasks(Consumer<TaskResponse> consumer) {
+        flush();
+        delegate.streamAllTasks(consumer);
+    }
+
+    @Override
+    public long getTasksVersion() {
+        flush();
+        return delegate.getTasksVersion();
+    }
+
+    @Override
+    public TaskStats getTaskStats() {
+        flush();
+        return delegate.getTaskStats();
+    }
+
+    @Override
+    public List<TaskResponse> filterTasksByStatus(Boolean completed) {
+        flush();
+        return delegate.filterTasksByStatus(completed);
+    }
+
+    @Override
+    public List<TaskResponse> searchTasksByTitle(String title) {
+        flush();
+        return delegate.searchTasksByTitle(title);
+    }
+
+    @Override
+    public List<TaskResponse> searchTasksByTitle(String title, int page, int size) {
+        flush();
+        return delegate.searchTasksByTitle(title, page, size);
+    }
+
+    @Override
+    public List<TaskResponse> getTasksDueBetween(LocalDate from, LocalDate to, boolean completed,
+            Sort.Direction order, int page, int size) {
+        flush();
+        return delegate.getTasksDueBetween(from, to, completed, order, page, size);
+    }
+
+    @Override
+    public List<TaskResponse> getOverdueTasks(Sort.Direction order, int page, int size) {
+        flush();
+        return delegate.getOverdueTasks(order, page, size);
+    }
+
+    @Override
+    public List<TaskResponse> queryTasks(TaskQuery query) {
+        flush();
+        return delegate.queryTasks(query);
+    }
+
+    /** Writes every pending change to the database; returns once they are committed. */
+    public void flush() {
+        // Reads call this too; with nothing pending they skip the locks
+        if (pending.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            Map<Integer, Pending> batch;
+            long keepFrom;
+            if (closed) {
+                throw new RejectedExecutionException("Write-behind is shut down");
+            }
+            rotationLock.writeLock().lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(pending);
+                keepFrom = log.rotate();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not rotate the write-behind log", ex);
+            } finally {
+                rotationLock.writeLock().unlock();
+            }
+
+            Set<Integer> written = flushTimer.record(() -> write(new ArrayList<>(batch.values())));
+            batch.forEach((id, flushed) -> {
+                synchronized (stripes[Math.floorMod(id, stripes.length)]) {
+                    Pending current = pending.get(id);
+                    if (current == flushed) {
+                        pending.remove(id);
+                    } else if (current != null && written.contains(id)) {
+                        // Queued during the write and stays pending; the statistics have counted the flushed state
+                        pending.put(id, new Pending(current.task(), current.type(), flushed.task()));
+                    }
+                }
+            });
+            try {
+                log.deleteSegmentsBefore(keepFrom);
+            } catch (IOException ex) {
+                logger.warn("Could not delete flushed write-behind log segments; they will be replayed harmlessly", ex);
+            }
+            logger.debug("Flushed {} pending task changes", batch.size());
+        }
+    }
+
+    // Writes that go straight to the database flush first and keep new changes queued behind them
+    // until they commit. A change queued in between would be numbered from the version the write
+    // replaces, so the write would take its version and the flush's version guard would drop it
+    private <T> T writeThrough(Supplier<T> write) {
+        // Same lock order as flush(), which takes both again
+        synchronized (flushLock) {
+            rotationLock.writeLock().lock();
+            try {
+                flush();
+                return write.get();
+            } finally {
+                rotationLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            logger.error("Write-behind flush failed with {} tasks pending; retrying in {} ms", pending.size(),
+                    flushInterval.toMillis(), ex);
+        }
+    }
+
+    private Set<Integer> write(List<Pending> changes) {
+        return transactionTemplate.execute(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(FLUSH_SQL, changes, maxBatch, (statement, change) -> {
+                TaskResponse task = change.task();
+                statement.setString(1, task.getTitle());
+                statement.setString(2, task.getDescription());
+                statement.setObject(3, task.getDueDate());
+                statement.setBoolean(4, task.isCompleted());
+                statement.setLong(5, task.getVersion());
+                statement.setInt(6, task.getTodo_id());
+                statement.setLong(7, task.getVersion());
+            });
+            changeTracker.recordChange();
+            Set<Integer> written = new HashSet<>();
+            int index = 0;
+            for (int[] chunk : counts) {
+                for (int count : chunk) {
+                    Pending change = changes.get(index++);
+                    if (count == 0) {
+                        continue;
+                    }
+                    written.add(change.task().getTodo_id());
+                    eventPublisher.publishEvent(TaskEvent.of(change.type(), change.task()));
+                    if (change.base() != null) {
+                        // Applied after commit, once the database holds what the counters say
+                        statistics.recordUpdated(change.base(), change.task());
+                    }
+                }
+            }
+            return written;
+        });
+    }
+
+    private TaskResponse mutate(Integer id, TaskEvent.Type type, UnaryOperator<TaskResponse> change) {
+        TaskResponse next;
+        rotationLock.readLock().lock();
+        try {
+            if (stopped) {
+                throw new RejectedExecutionException("Write-behind is shut down");
+            }
+            synchronized (stripes[Math.floorMod(id, stripes.length)]) {
+                Pending previous = pending.get(id);
+                TaskResponse current = previous != null ? previous.task() : load(id);
+                next = change.apply(current);
+                if (next == current) {
+                    return current;
+                }
+                next.setVersion(current.getVersion() + 1);
+                log.append(TaskWriteLog.Entry.of(next));
+                TaskEvent.Type merged = (previous == null || previous.type() == type) ? type : TaskEvent.Type.UPDATED;
+                pending.put(id, new Pending(next, merged, previous != null ? previous.base() : current));
+                taskCache.put(id, next);
+                if (previous != null) {
+                    coalesced.increment();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to the write-behind log", ex);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        if (pending.size() >= maxBatch && !worker.isShutdown()) {
+            worker.execute(this::flushQuietly);
+        }
+        return next;
+    }
+
+    private TaskResponse load(Integer id) {
+        return taskRepository.findById(id)
+                .map(TaskMapper::toResponse)
+                .orElseThrow(() -> {
+                    logger.warn("TaskNotFoundException: Task with ID {} not found", id);
+                    return new TaskNotFoundException("Task not found with id: " + id);
+                });
+    }
+
+    private static TaskResponse withCompleted(TaskResponse task, boolean completed) {
+        return new TaskResponse(task.getTodo_id(), task.getTitle(), task.getDescription(), completed,
+                task.getDueDate(), task.getVersion());
+    }
+}
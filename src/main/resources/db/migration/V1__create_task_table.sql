@@ -0,0 +1,9 @@
+-- Schema as previously created by hibernate ddl-auto; existing databases are baselined at this version
+create table if not exists task (
+    todo_id integer generated by default as identity,
+    title varchar(255) not null,
+    description varchar(1000) not null,
+    is_completed boolean default false not null,
+    due_date date not null,
+    primary key (todo_id)
+);
@@ -0,0 +1,4 @@
+-- Pooled id allocation so Hibernate can batch inserts (allocationSize = 50 on Task.todo_id).
+-- The first nextval must clear every existing id, as the pooled optimizer hands out (value - 49 .. value].
+create sequence if not exists task_seq start with 50 increment by 50;
+select setval('task_seq', (select coalesce(max(todo_id), 0) from task) + 50, false);
@@ -0,0 +1,3 @@
+-- Lets "lower(title) like '%term%'" use an index instead of scanning the table
+create extension if not exists pg_trgm;
+create index if not exists idx_task_title_trgm on task using gin (lower(title) gin_trgm_ops);
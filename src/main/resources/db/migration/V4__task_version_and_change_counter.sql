@@ -0,0 +1,18 @@
+-- Optimistic locking column for Task.version
+alter table task add column if not exists version bigint not null default 0;
+
+-- Table-level change counter: every statement that writes to task advances the sequence, so
+-- "has anything changed?" is a single sequence read instead of a query over the rows
+create sequence if not exists task_change_seq;
+
+create or replace function bump_task_change_seq() returns trigger as $$
+begin
+    perform nextval('task_change_seq');
+    return null;
+end;
+$$ language plpgsql;
+
+drop trigger if exists task_change_counter on task;
+create trigger task_change_counter
+    after insert or update or delete or truncate on task
+    for each statement execute function bump_task_change_seq();
@@ -0,0 +1,2 @@
+-- Due-date queries filter on is_completed and range over due_date; todo_id breaks ties in the sort
+create index if not exists idx_task_completed_due on task (is_completed, due_date, todo_id);
@@ -0,0 +1,37 @@
+-- Replaces task_change_seq from V4. nextval() is not transactional, so a reader could see the new
+-- version before the write committed, pair it with the old rows and keep serving them as current.
+-- The counter now lives in a one-row table and is advanced inside the writing transaction
+create table if not exists task_change_counter (
+    id boolean primary key default true check (id),
+    version bigint not null
+);
+
+insert into task_change_counter (id, version)
+select true, case when is_called then last_value else 0 end from task_change_seq
+on conflict (id) do nothing;
+
+-- Runs once per transaction, at commit: the counter row is locked only while the transaction
+-- commits, so writers never hold it while waiting for task rows held by another writer
+create or replace function bump_task_change_counter() returns trigger as $$
+begin
+    if current_setting('todo.task_change_counted', true) is distinct from 'on' then
+        perform set_config('todo.task_change_counted', 'on', true);
+        update task_change_counter set version = version + 1;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+drop trigger if exists task_change_counter on task;
+drop function if exists bump_task_change_seq();
+drop sequence if exists task_change_seq;
+
+create constraint trigger task_change_counter
+    after insert or update or delete on task
+    deferrable initially deferred
+    for each row execute function bump_task_change_counter();
+
+-- Constraint triggers cannot fire on truncate; truncate locks the whole table anyway
+create trigger task_change_counter_truncate
+    after truncate on task
+    for each statement execute function bump_task_change_counter();
@@ -0,0 +1,63 @@
+-- V6 queued one deferred trigger event per changed row, so a 1,000-row batch ran the trigger and
+-- checked todo.task_change_counted 1,000 times as it committed. Statement triggers now note the
+-- first change of each transaction as one row in task_change_pending, and only that row's
+-- deferred trigger advances the counter. Statements that change no rows are not counted
+create unlogged table if not exists task_change_pending (
+    id bigint generated always as identity primary key
+);
+
+create or replace function note_task_change() returns trigger as $$
+begin
+    -- TRUNCATE has no transition table
+    if tg_op <> 'TRUNCATE' then
+        if not exists (select from changed) then
+            return null;
+        end if;
+    end if;
+    if current_setting('todo.task_change_counted', true) is distinct from 'on' then
+        perform set_config('todo.task_change_counted', 'on', true);
+        insert into task_change_pending default values;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+-- Runs once per writing transaction, at commit. Every writing transaction still updates the one
+-- counter row as it commits, so concurrent writers queue on that row's lock for the rest of their
+-- commit: writing commits are serialized, although the lock is never held while a transaction
+-- waits for anything else
+create or replace function apply_task_change() returns trigger as $$
+begin
+    delete from task_change_pending where id = new.id;
+    update task_change_counter set version = version + 1;
+    return null;
+end;
+$$ language plpgsql;
+
+drop trigger if exists task_change_counter on task;
+drop trigger if exists task_change_counter_truncate on task;
+drop function if exists bump_task_change_counter();
+
+create trigger task_change_counter_insert
+    after insert on task
+    referencing new table as changed
+    for each statement execute function note_task_change();
+
+create trigger task_change_counter_update
+    after update on task
+    referencing new table as changed
+    for each statement execute function note_task_change();
+
+create trigger task_change_counter_delete
+    after delete on task
+    referencing old table as changed
+    for each statement execute function note_task_change();
+
+create trigger task_change_counter_truncate
+    after truncate on task
+    for each statement execute function note_task_change();
+
+create constraint trigger task_change_pending_apply
+    after insert on task_change_pending
+    deferrable initially deferred
+    for each row execute function apply_task_change();
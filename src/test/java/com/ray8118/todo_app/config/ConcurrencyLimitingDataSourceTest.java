@@ -0,0 +1,56 @@
+package com.ray8118.todo_app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ConcurrencyLimitingDataSourceTest {
+
+        private final DataSource target = Mockito.mock(DataSource.class);
+        private final Connection raw = Mockito.mock(Connection.class);
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, 2,
+                        Duration.ofMillis(100), registry);
+
+        @Test
+        void connection_shouldHaveItsOwnIdentity() throws Exception {
+                Mockito.when(target.getConnection()).thenReturn(raw);
+
+                Connection first = dataSource.getConnection();
+                Connection second = dataSource.getConnection();
+
+                assertEquals(first, first);
+                assertNotEquals(first, second);
+                assertNotEquals(first, raw);
+                assertEquals(System.identityHashCode(first), first.hashCode());
+                Set<Connection> held = new HashSet<>(Set.of(first, second));
+                assertTrue(held.remove(first));
+                assertTrue(first.toString().contains(raw.toString()));
+                Mockito.verify(raw, Mockito.never()).close();
+        }
+
+        @Test
+        void close_shouldReleaseThePermitOnce() throws Exception {
+                Mockito.when(target.getConnection()).thenReturn(raw);
+                Connection connection = dataSource.getConnection();
+                dataSource.getConnection();
+
+                connection.close();
+                connection.close();
+
+                assertEquals(1.0, registry.get("todo.db.permits.active").gauge().value());
+                Mockito.verify(raw, Mockito.times(2)).close();
+        }
+}
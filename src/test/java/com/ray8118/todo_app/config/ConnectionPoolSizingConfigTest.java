@@ -0,0 +1,45 @@
+package com.ray8118.todo_app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ConnectionPoolSizingConfigTest {
+
+        @Test
+        void poolSize_shouldFollowDatabaseCores() {
+                MockEnvironment environment = new MockEnvironment()
+                                .withProperty("todo.db.pool.database-cores", "4")
+                                .withProperty("todo.db.pool.effective-spindles", "1");
+
+                assertEquals(9, ConnectionPoolSizingConfig.poolSize(environment));
+        }
+
+        @Test
+        void poolSize_shouldBeCappedByTheInstanceShareOfMaxConnections() {
+                MockEnvironment environment = new MockEnvironment()
+                                .withProperty("todo.db.pool.database-cores", "16")
+                                .withProperty("todo.db.pool.max-connections", "100")
+                                .withProperty("todo.db.pool.reserved-connections", "10")
+                                .withProperty("todo.db.pool.instances", "6");
+
+                assertEquals(15, ConnectionPoolSizingConfig.poolSize(environment));
+        }
+
+        @Test
+        void connectionPoolSizer_shouldNotOverrideAnExplicitMaximumPoolSize() {
+                MockEnvironment environment = new MockEnvironment()
+                                .withProperty("todo.db.pool.database-cores", "4")
+                                .withProperty(ConnectionPoolSizingConfig.MAXIMUM_POOL_SIZE, "20");
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setMaximumPoolSize(20);
+
+                ConnectionPoolSizingConfig.connectionPoolSizer(environment)
+                                .postProcessBeforeInitialization(dataSource, "dataSource");
+
+                assertEquals(20, dataSource.getMaximumPoolSize());
+        }
+}
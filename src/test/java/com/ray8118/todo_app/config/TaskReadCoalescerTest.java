@@ -0,0 +1,186 @@
+package com.ray8118.todo_app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TaskReadCoalescerTest {
+
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final TaskService target = Mockito.mock(TaskService.class);
+        private final TaskService taskService = coalesced(target, registry, Duration.ofSeconds(5));
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger executions = new AtomicInteger();
+        private final ExecutorService callers = Executors.newCachedThreadPool();
+
+        @AfterEach
+        void shutDown() {
+                release.countDown();
+                callers.shutdownNow();
+        }
+
+        @Test
+        void concurrentIdenticalCalls_shouldShareOneExecution() throws Exception {
+                TaskResponse task = new TaskResponse(1, "Task", "Description", false, null);
+                Mockito.when(target.getTaskOrThrow(1)).thenAnswer(invocation -> blockUntilReleased(task));
+                Mockito.when(target.getTaskOrThrow(2)).thenReturn(new TaskResponse(2, "Other", null, false, null));
+
+                CompletableFuture<TaskResponse> leader = CompletableFuture.supplyAsync(
+                                () -> taskService.getTaskOrThrow(1), callers);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                List<CompletableFuture<TaskResponse>> followers = List.of(
+                                CompletableFuture.supplyAsync(() -> taskService.getTaskOrThrow(1), callers),
+                                CompletableFuture.supplyAsync(() -> taskService.getTaskOrThrow(1), callers));
+                awaitFollowers(2);
+                assertEquals(2, taskService.getTaskOrThrow(2).getTodo_id());
+                release.countDown();
+
+                assertSame(task, leader.get(5, TimeUnit.SECONDS));
+                for (CompletableFuture<TaskResponse> follower : followers) {
+                        assertSame(task, follower.get(5, TimeUnit.SECONDS));
+                }
+                assertEquals(1, executions.get());
+                assertEquals(2.0, registry.get("todo.coalescing.absorbed").tag("method", "getTaskOrThrow")
+                                .summary().max());
+
+                // Finished calls are not reused
+                taskService.getTaskOrThrow(1);
+                assertEquals(2, executions.get());
+        }
+
+        @Test
+        void writeBetweenLeaderAndFollower_shouldStartASecondExecution() throws Exception {
+                TaskResponse before = new TaskResponse(1, "Task", "Description", false, null);
+                TaskResponse after = new TaskResponse(1, "Task", "Description", true, null);
+                Mockito.when(target.getTaskOrThrow(1))
+                                .thenAnswer(invocation -> blockUntilReleased(before))
+                                .thenAnswer(invocation -> blockUntilReleased(after));
+
+                CompletableFuture<TaskResponse> leader = CompletableFuture.supplyAsync(
+                                () -> taskService.getTaskOrThrow(1), callers);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                // A write commits while the leader is running
+                Mockito.when(target.getTasksVersion()).thenReturn(1L);
+                CompletableFuture<TaskResponse> afterWrite = CompletableFuture.supplyAsync(
+                                () -> taskService.getTaskOrThrow(1), callers);
+                awaitExecutions(2);
+                CompletableFuture<TaskResponse> follower = CompletableFuture.supplyAsync(
+                                () -> taskService.getTaskOrThrow(1), callers);
+                awaitFollowers(1);
+                release.countDown();
+
+                assertSame(before, leader.get(5, TimeUnit.SECONDS));
+                assertSame(after, afterWrite.get(5, TimeUnit.SECONDS));
+                assertSame(after, follower.get(5, TimeUnit.SECONDS));
+                assertEquals(2, executions.get());
+        }
+
+        @Test
+        void sharedFailure_shouldBeThrownToEveryCaller() throws Exception {
+                Mockito.when(target.getTaskOrThrow(9)).thenAnswer(invocation -> {
+                        blockUntilReleased(null);
+                        throw new TaskNotFoundException("Task not found with id: 9");
+                });
+
+                CompletableFuture<TaskResponse> leader = CompletableFuture.supplyAsync(
+                                () -> taskService.getTaskOrThrow(9), callers);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                CompletableFuture<TaskResponse> follower = CompletableFuture.supplyAsync(
+                                () -> taskService.getTaskOrThrow(9), callers);
+                awaitFollowers(1);
+                release.countDown();
+
+                ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                                () -> leader.get(5, TimeUnit.SECONDS));
+                ExecutionException followerFailure = assertThrows(ExecutionException.class,
+                                () -> follower.get(5, TimeUnit.SECONDS));
+                assertTrue(leaderFailure.getCause() instanceof TaskNotFoundException);
+                assertTrue(followerFailure.getCause() instanceof TaskNotFoundException);
+                assertEquals(1, executions.get());
+        }
+
+        @Test
+        void follower_shouldGiveUpAfterTimeout() throws Exception {
+                TaskService impatient = coalesced(target, registry, Duration.ofMillis(50));
+                Mockito.when(target.filterTasksByStatus(false)).thenAnswer(invocation -> blockUntilReleased(List.of()));
+
+                CompletableFuture<List<TaskResponse>> leader = CompletableFuture.supplyAsync(
+                                () -> impatient.filterTasksByStatus(false), callers);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                assertThrows(QueryTimeoutException.class, () -> impatient.filterTasksByStatus(false));
+                release.countDown();
+
+                assertEquals(List.of(), leader.get(5, TimeUnit.SECONDS));
+                assertEquals(1.0, registry.get("todo.coalescing.timeouts").tag("method", "filterTasksByStatus")
+                                .counter().count());
+        }
+
+        private <T> T blockUntilReleased(T result) throws InterruptedException {
+                executions.incrementAndGet();
+                started.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+                return result;
+        }
+
+        private void awaitExecutions(int expected) throws InterruptedException {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (executions.get() < expected && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                }
+        }
+
+        // Followers join the running call and then park in TaskReadCoalescer.await
+        private void awaitFollowers(int expected) throws InterruptedException {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (waitingFollowers() < expected && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                }
+        }
+
+        private static long waitingFollowers() {
+                return Thread.getAllStackTraces().values().stream()
+                                .filter(frames -> Arrays.stream(frames).anyMatch(
+                                                frame -> frame.getMethodName().equals("await")
+                                                                && frame.getClassName().equals(TaskReadCoalescer.class.getName())))
+                                .count();
+        }
+
+        private static TaskService coalesced(TaskService target, MeterRegistry registry, Duration timeout) {
+                StaticListableBeanFactory beans = new StaticListableBeanFactory();
+                beans.addBean("meterRegistry", registry);
+                ProxyFactory proxyFactory = new ProxyFactory(target);
+                proxyFactory.addInterface(TaskService.class);
+                proxyFactory.addAdvice(
+                                new TaskReadCoalescer(beans.getBeanProvider(MeterRegistry.class), timeout));
+                return (TaskService) proxyFactory.getProxy();
+        }
+}
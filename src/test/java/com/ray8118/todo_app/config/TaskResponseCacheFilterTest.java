@@ -0,0 +1,170 @@
+package com.ray8118.todo_app.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class TaskResponseCacheFilterTest {
+
+        private static final String BODY = "[" + "{\"todo_id\":1,\"title\":\"Task\"},".repeat(100) + "{}]";
+
+        private final TaskService taskService = Mockito.mock(TaskService.class);
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final TaskResponseCacheFilter filter = new TaskResponseCacheFilter(taskService, 1 << 20, 1 << 16,
+                        1024, 6, registry);
+        private final AtomicInteger renders = new AtomicInteger();
+        private int status = 200;
+        private String body = BODY;
+        private Runnable afterRender = () -> {
+        };
+
+        // Stands in for the controller: renders the list body and counts how often it was asked to
+        private final HttpServlet controller = new HttpServlet() {
+                @Override
+                protected void doGet(HttpServletRequest request, HttpServletResponse response)
+                                throws IOException {
+                        renders.incrementAndGet();
+                        response.setStatus(status);
+                        response.setContentType("application/json");
+                        response.setHeader("ETag", "W/\"tasks-" + taskService.getTasksVersion() + "\"");
+                        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+                        afterRender.run();
+                }
+        };
+
+        @Test
+        void repeatedRequest_shouldBeServedFromCache_untilTheVersionChanges() throws Exception {
+                MockHttpServletResponse first = get("/tasks/filter", "completed=false", null);
+                MockHttpServletResponse second = get("/tasks/filter", "completed=false", null);
+
+                assertEquals(1, renders.get());
+                assertEquals(BODY, first.getContentAsString());
+                assertEquals(BODY, second.getContentAsString());
+                assertEquals("application/json", second.getContentType());
+                assertEquals("W/\"tasks-0\"", second.getHeader("ETag"));
+
+                get("/tasks/filter", "completed=true", null);
+                assertEquals(2, renders.get());
+
+                Mockito.when(taskService.getTasksVersion()).thenReturn(1L);
+                MockHttpServletResponse afterWrite = get("/tasks/filter", "completed=false", null);
+                assertEquals(3, renders.get());
+                assertEquals("W/\"tasks-1\"", afterWrite.getHeader("ETag"));
+
+                assertEquals(1.0, registry.get("todo.response-cache.requests").tag("result", "hit").counter().count());
+                assertEquals(3.0, registry.get("todo.response-cache.requests").tag("result", "miss").counter().count());
+                assertEquals(0.25, registry.get("todo.response-cache.hit-ratio").gauge().value());
+        }
+
+        @Test
+        void writeCommittedDuringAMiss_shouldNotLeaveTheOldBodyCachedAsCurrent() throws Exception {
+                String updated = BODY.replace("Task", "Done");
+                afterRender = () -> {
+                        // A write commits after the controller read its rows but before the filter stores them
+                        body = updated;
+                        Mockito.when(taskService.getTasksVersion()).thenReturn(1L);
+                        afterRender = () -> {
+                        };
+                };
+
+                MockHttpServletResponse overlapped = get("/tasks", null, null);
+                MockHttpServletResponse afterWrite = get("/tasks", null, null);
+                MockHttpServletResponse repeated = get("/tasks", null, null);
+
+                assertEquals(BODY, overlapped.getContentAsString());
+                assertEquals("W/\"tasks-0\"", overlapped.getHeader("ETag"));
+                assertEquals(2, renders.get());
+                assertEquals(updated, afterWrite.getContentAsString());
+                assertEquals("W/\"tasks-1\"", afterWrite.getHeader("ETag"));
+                assertEquals(updated, repeated.getContentAsString());
+        }
+
+        @Test
+        void hit_shouldServeGzipCopy_toClientsThatAcceptIt() throws Exception {
+                get("/tasks", null, null);
+                MockHttpServletResponse plain = get("/tasks", null, null);
+
+                MockHttpServletRequest request = request("/tasks", null);
+                request.addHeader("Accept-Encoding", "gzip, deflate");
+                MockHttpServletResponse gzipped = perform(request);
+
+                assertEquals(1, renders.get());
+                assertNull(plain.getHeader("Content-Encoding"));
+                assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+                assertEquals("Accept, Accept-Encoding", gzipped.getHeader("Vary"));
+                byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))
+                                .readAllBytes();
+                assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), unzipped);
+        }
+
+        @Test
+        void hit_shouldAnswerMatchingIfNoneMatchWith304() throws Exception {
+                get("/tasks", null, null);
+
+                MockHttpServletRequest request = request("/tasks", null);
+                request.addHeader("If-None-Match", "W/\"tasks-0\"");
+                MockHttpServletResponse response = perform(request);
+
+                assertEquals(304, response.getStatus());
+                assertEquals(0, response.getContentAsByteArray().length);
+        }
+
+        @Test
+        void differentAccept_shouldBeCachedSeparately() throws Exception {
+                get("/tasks", null, "application/json");
+                get("/tasks", null, "application/cbor");
+                get("/tasks", null, "application/cbor");
+
+                assertEquals(2, renders.get());
+        }
+
+        @Test
+        void errorResponse_shouldNotBeCached() throws Exception {
+                status = 400;
+                get("/tasks/due", "from=x", null);
+                MockHttpServletResponse second = get("/tasks/due", "from=x", null);
+
+                assertEquals(2, renders.get());
+                assertEquals(400, second.getStatus());
+                assertEquals(BODY, second.getContentAsString());
+        }
+
+        private MockHttpServletResponse get(String path, String query, String accept) throws Exception {
+                MockHttpServletRequest request = request(path, query);
+                if (accept != null) {
+                        request.addHeader("Accept", accept);
+                }
+                return perform(request);
+        }
+
+        private static MockHttpServletRequest request(String path, String query) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+                request.setQueryString(query);
+                return request;
+        }
+
+        private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request, response, new MockFilterChain(controller));
+                return response;
+        }
+}
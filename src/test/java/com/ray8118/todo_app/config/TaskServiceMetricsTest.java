@@ -0,0 +1,87 @@
+package com.ray8118.todo_app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.service.TaskService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TaskServiceMetricsTest {
+
+        private final SqlStatementCounter statementCounter = new SqlStatementCounter();
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final TaskService target = Mockito.mock(TaskService.class);
+        private final TaskService taskService = instrumented(target, registry, 5);
+
+        @Test
+        void calls_shouldBeTimedWithTheirStatementCount() {
+                Mockito.when(target.getTaskOrThrow(1)).thenAnswer(invocation -> {
+                        statementCounter.inspect("select t from task t where t.todo_id=?");
+                        return new TaskResponse(1, "Task", "Description", false, null);
+                });
+
+                taskService.getTaskOrThrow(1);
+
+                assertEquals(1, registry.get("todo.service").tags("method", "getTaskOrThrow", "exception", "none")
+                                .timer().count());
+                assertEquals(1.0, registry.get("todo.service.statements").tag("method", "getTaskOrThrow")
+                                .summary().totalAmount());
+        }
+
+        @Test
+        void calls_shouldBeTaggedWithTheExceptionTheyThrow() {
+                Mockito.when(target.getTaskOrThrow(99)).thenThrow(new TaskNotFoundException("Task not found"));
+
+                assertThrows(TaskNotFoundException.class, () -> taskService.getTaskOrThrow(99));
+
+                assertEquals(1, registry.get("todo.service")
+                                .tags("method", "getTaskOrThrow", "exception", "TaskNotFoundException").timer().count());
+        }
+
+        @Test
+        void repeatedStatements_shouldBeCountedAsNPlusOne() {
+                Mockito.when(target.getAllTasks()).thenAnswer(invocation -> {
+                        statementCounter.inspect("select t from task t");
+                        for (int i = 0; i < 5; i++) {
+                                statementCounter.inspect("select t from task t where t.todo_id=?");
+                        }
+                        return List.of();
+                });
+                Mockito.when(target.filterTasksByStatus(true)).thenAnswer(invocation -> {
+                        for (int i = 0; i < 5; i++) {
+                                statementCounter.inspect("select t from task t where t.todo_id=" + i);
+                        }
+                        return List.of();
+                });
+
+                taskService.getAllTasks();
+                taskService.filterTasksByStatus(true);
+
+                assertEquals(6.0, registry.get("todo.service.statements").tag("method", "getAllTasks")
+                                .summary().totalAmount());
+                assertEquals(1.0, registry.get("todo.service.n-plus-one").tag("method", "getAllTasks")
+                                .counter().count());
+                assertEquals(0.0, registry.get("todo.service.n-plus-one").tag("method", "filterTasksByStatus")
+                                .counter().count());
+        }
+
+        private static TaskService instrumented(TaskService target, MeterRegistry registry, int nPlusOneThreshold) {
+                StaticListableBeanFactory beans = new StaticListableBeanFactory();
+                beans.addBean("meterRegistry", registry);
+                ProxyFactory proxyFactory = new ProxyFactory(target);
+                proxyFactory.addInterface(TaskService.class);
+                proxyFactory.addAdvice(new TaskServiceMetrics(beans.getBeanProvider(MeterRegistry.class), nPlusOneThreshold));
+                return (TaskService) proxyFactory.getProxy();
+        }
+}
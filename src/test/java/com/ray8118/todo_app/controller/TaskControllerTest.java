@@ -1,32 +1,62 @@
 package com.ray8118.todo_app.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.ray8118.todo_app.config.TaskBinaryMessageConverter;
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
 import com.ray8118.todo_app.dto.TaskRequest;
 import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.exception.InvalidCursorException;
+import com.ray8118.todo_app.exception.InvalidQueryException;
 import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.exception.TaskVersionMismatchException;
+import com.ray8118.todo_app.service.AsyncTaskService;
+import com.ray8118.todo_app.service.TaskEventBroadcaster;
 import com.ray8118.todo_app.service.TaskService;
 
 @WebMvcTest
+@Import(AsyncTaskService.class)
 public class TaskControllerTest {
         @Autowired
         private MockMvc mockMvc;
@@ -34,6 +64,17 @@ public class TaskControllerTest {
         @MockitoBean
         private TaskService taskService;
 
+        @MockitoBean
+        private TaskEventBroadcaster eventBroadcaster;
+
+        // Single-task endpoints answer with a future that completes on the AsyncTaskService executor
+        private ResultActions performAsync(RequestBuilder builder) throws Exception {
+                MvcResult result = mockMvc.perform(builder)
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                return mockMvc.perform(asyncDispatch(result));
+        }
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -65,6 +106,88 @@ public class TaskControllerTest {
                                 .andExpect(content().json("[]"));
         }
 
+        @Test
+        void getAllTasks_shouldNegotiateBinaryFormats() throws Exception {
+                List<TaskResponse> tasks = List.of(
+                                new TaskResponse(1, "Test task", "Test Description", true, LocalDate.of(2025, 12, 31)),
+                                new TaskResponse(2, "Другая", null, false, null));
+                Mockito.when(taskService.getAllTasks()).thenReturn(tasks);
+
+                byte[] binary = mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                                .accept(TaskBinaryMessageConverter.MEDIA_TYPE))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(TaskBinaryMessageConverter.MEDIA_TYPE))
+                                .andReturn().getResponse().getContentAsByteArray();
+                List<TaskResponse> decoded = decodeBinary(binary);
+                assertEquals(objectMapper.writeValueAsString(tasks), objectMapper.writeValueAsString(decoded));
+
+                byte[] cbor = mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                                .accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                                .andReturn().getResponse().getContentAsByteArray();
+                assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(tasks)),
+                                new CBORMapper().readTree(cbor));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks").accept(MediaType.ALL))
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        void getTasksPage_shouldReturnPageWithNextCursor() throws Exception {
+                TaskResponse taskResponse = new TaskResponse();
+                taskResponse.setTodo_id(1);
+                taskResponse.setTitle("Test task");
+                taskResponse.setDescription("Test Description");
+                taskResponse.setCompleted(false);
+                TaskPage page = new TaskPage(Collections.singletonList(taskResponse), "aWQ6MQ");
+
+                Mockito.when(taskService.getTasksPage(null, 1)).thenReturn(page);
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                                .param("limit", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(jsonPath("$.tasks[0].todo_id").value(1))
+                                .andExpect(jsonPath("$.nextCursor").value("aWQ6MQ"));
+        }
+
+        @Test
+        void getTasksPage_shouldReturnBadRequest_whenCursorIsInvalid() throws Exception {
+                Mockito.when(taskService.getTasksPage("garbage", 10))
+                                .thenThrow(new InvalidCursorException("Invalid cursor: garbage"));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                                .param("after", "garbage")
+                                .param("limit", "10"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Invalid cursor: garbage"));
+        }
+
+        @Test
+        void streamTasks_shouldWriteOneJsonDocumentPerLine() throws Exception {
+                TaskResponse first = new TaskResponse(1, "First", "First Description", false, null);
+                TaskResponse second = new TaskResponse(2, "Second", "Second Description", true, null);
+
+                Mockito.doAnswer(invocation -> {
+                        Consumer<TaskResponse> consumer = invocation.getArgument(0);
+                        consumer.accept(first);
+                        consumer.accept(second);
+                        return null;
+                }).when(taskService).streamAllTasks(any());
+
+                MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                                .accept("application/x-ndjson"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson"))
+                                .andExpect(content().string(objectMapper.writeValueAsString(first) + "\n"
+                                                + objectMapper.writeValueAsString(second) + "\n"));
+        }
+
         @Test
         void getTaskById_shouldReturnTask() throws Exception {
                 TaskResponse taskResponse = new TaskResponse();
@@ -75,7 +198,7 @@ public class TaskControllerTest {
 
                 Mockito.when(taskService.getTaskOrThrow(1)).thenReturn(taskResponse);
 
-                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/1")
+                performAsync(MockMvcRequestBuilders.get("/tasks/1")
                                 .accept(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -90,7 +213,7 @@ public class TaskControllerTest {
                 Mockito.when(taskService.getTaskOrThrow(99))
                                 .thenThrow(new TaskNotFoundException("Task not found"));
 
-                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/99")
+                performAsync(MockMvcRequestBuilders.get("/tasks/99")
                                 .accept(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isNotFound());
         }
@@ -114,7 +237,7 @@ public class TaskControllerTest {
 
                 Mockito.when(taskService.createTask(any(TaskRequest.class))).thenReturn(createdTaskResponse);
 
-                mockMvc.perform(MockMvcRequestBuilders.post("/tasks")
+                performAsync(MockMvcRequestBuilders.post("/tasks")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(taskRequestJson))
                                 .andExpect(status().isCreated())
@@ -161,7 +284,7 @@ public class TaskControllerTest {
 
                 Mockito.when(taskService.createTask(any(TaskRequest.class))).thenReturn(createdTaskResponse);
 
-                mockMvc.perform(MockMvcRequestBuilders.post("/tasks")
+                performAsync(MockMvcRequestBuilders.post("/tasks")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(taskRequestJson))
                                 .andExpect(status().isCreated())
@@ -203,7 +326,7 @@ public class TaskControllerTest {
                 Mockito.when(taskService.createTask(any(TaskRequest.class)))
                                 .thenThrow(new RuntimeException("Database is down"));
 
-                mockMvc.perform(MockMvcRequestBuilders.post("/tasks")
+                performAsync(MockMvcRequestBuilders.post("/tasks")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(taskRequestJson))
                                 .andExpect(status().isInternalServerError())
@@ -276,6 +399,22 @@ public class TaskControllerTest {
                                 .andExpect(content().json("[]"));
         }
 
+        @Test
+        void searchTasksByTitle_shouldReturnRequestedPage() throws Exception {
+                TaskResponse taskResponse = new TaskResponse(3, "Test task", "Test Description", false, null);
+                List<TaskResponse> tasks = Collections.singletonList(taskResponse);
+
+                Mockito.when(taskService.searchTasksByTitle("test", 1, 10)).thenReturn(tasks);
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/search")
+                                .param("title", "test")
+                                .param("page", "1")
+                                .param("size", "10")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(content().json(objectMapper.writeValueAsString(tasks)));
+        }
+
         @Test
         void updateTask_shouldUpdateTaskAndReturnIt() throws Exception {
                 String taskRequestJson = """
@@ -295,7 +434,7 @@ public class TaskControllerTest {
 
                 Mockito.when(taskService.updateTask(Mockito.eq(1), any(TaskRequest.class))).thenReturn(updatedTask);
 
-                mockMvc.perform(MockMvcRequestBuilders.put("/tasks/1")
+                performAsync(MockMvcRequestBuilders.put("/tasks/1")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(taskRequestJson))
                                 .andExpect(status().isOk())
@@ -320,7 +459,7 @@ public class TaskControllerTest {
                 Mockito.when(taskService.updateTask(Mockito.eq(99), any(TaskRequest.class)))
                                 .thenThrow(new TaskNotFoundException("Task with ID 99 not found"));
 
-                mockMvc.perform(MockMvcRequestBuilders.put("/tasks/99")
+                performAsync(MockMvcRequestBuilders.put("/tasks/99")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(updateRequestJson))
                                 .andExpect(status().isNotFound())
@@ -341,13 +480,227 @@ public class TaskControllerTest {
                 Mockito.when(taskService.updateTask(eq(1), any(TaskRequest.class)))
                                 .thenThrow(new DataAccessResourceFailureException("Database down"));
 
-                mockMvc.perform(MockMvcRequestBuilders.put("/tasks/1")
+                performAsync(MockMvcRequestBuilders.put("/tasks/1")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(updateRequestJson))
                                 .andExpect(status().isInternalServerError())
                                 .andExpect(jsonPath("$.message").value("A database error occurred: Database down"));
         }
 
+        @Test
+        void getAllTasks_shouldReturnNotModified_whenTasksVersionUnchanged() throws Exception {
+                Mockito.when(taskService.getTasksVersion()).thenReturn(42L);
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                                .header("If-None-Match", "W/\"tasks-42\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", "W/\"tasks-42\""));
+
+                Mockito.verify(taskService, Mockito.never()).getAllTasks();
+        }
+
+        @Test
+        void listETags_shouldDifferPerRepresentation() throws Exception {
+                Mockito.when(taskService.getTasksVersion()).thenReturn(42L);
+                Mockito.when(taskService.getAllTasks()).thenReturn(List.of());
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks"))
+                                .andExpect(header().string("ETag", "W/\"tasks-42\""))
+                                .andExpect(header().string("Vary", "Accept"));
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks").accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(header().string("ETag", "W/\"tasks-42-cbor\""))
+                                .andExpect(header().string("Vary", "Accept"));
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks").accept(TaskBinaryMessageConverter.MEDIA_TYPE))
+                                .andExpect(header().string("ETag", "W/\"tasks-42-x-todo-tasks\""));
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks").accept("application/x-ndjson"))
+                                .andExpect(header().string("ETag", "W/\"tasks-42-x-ndjson\""));
+
+                // The JSON tag does not validate a cached CBOR body
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks").accept(MediaType.APPLICATION_CBOR)
+                                .header("If-None-Match", "W/\"tasks-42\""))
+                                .andExpect(status().isOk());
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks").accept(MediaType.APPLICATION_CBOR)
+                                .header("If-None-Match", "W/\"tasks-42-cbor\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("Vary", "Accept"));
+        }
+
+        @Test
+        void overdueETag_shouldDifferPerRepresentation() throws Exception {
+                Mockito.when(taskService.getTasksVersion()).thenReturn(42L);
+                Mockito.when(taskService.getOverdueTasks(Sort.Direction.ASC, 0, 100)).thenReturn(List.of());
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/overdue").accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(header().string("ETag", "W/\"tasks-42-" + LocalDate.now() + "-cbor\""))
+                                .andExpect(header().string("Vary", "Accept"));
+        }
+
+        @Test
+        void taskETag_shouldDifferPerRepresentation() throws Exception {
+                Mockito.when(taskService.getTaskOrThrow(1))
+                                .thenReturn(new TaskResponse(1, "Test task", "Test Description", false, null, 3L));
+
+                performAsync(MockMvcRequestBuilders.get("/tasks/1").accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"3-cbor\""))
+                                .andExpect(header().string("Vary", "Accept"));
+                performAsync(MockMvcRequestBuilders.get("/tasks/1").accept(MediaType.APPLICATION_CBOR)
+                                .header("If-None-Match", "\"3\""))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void updateTask_shouldAcceptIfMatchFromAnyRepresentation() throws Exception {
+                TaskResponse updated = new TaskResponse(1, "Updated Task", "Updated Description", false, null, 4L);
+                Mockito.when(taskService.updateTask(eq(1), any(TaskRequest.class), eq(3L))).thenReturn(updated);
+
+                performAsync(MockMvcRequestBuilders.put("/tasks/1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("If-Match", "\"3-cbor\"")
+                                .content("{\"title\": \"Updated Task\", \"description\": \"Updated Description\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"4\""));
+        }
+
+        @Test
+        void getTaskById_shouldReturnNotModified_whenETagMatches() throws Exception {
+                TaskResponse taskResponse = new TaskResponse(1, "Test task", "Test Description", false, null, 3L);
+
+                Mockito.when(taskService.getTaskOrThrow(1)).thenReturn(taskResponse);
+
+                performAsync(MockMvcRequestBuilders.get("/tasks/1")
+                                .header("If-None-Match", "\"3\""))
+                                .andExpect(status().isNotModified());
+        }
+
+        @Test
+        void updateTask_shouldReturnPreconditionFailed_whenIfMatchIsStale() throws Exception {
+                String taskRequestJson = """
+                                    {
+                                        "title": "Updated Task",
+                                        "description": "Updated Description"
+                                    }
+                                """;
+
+                Mockito.when(taskService.updateTask(Mockito.eq(1), any(TaskRequest.class), Mockito.eq(2L)))
+                                .thenThrow(new TaskVersionMismatchException("Task with id 1 has been modified (version 3)"));
+
+                performAsync(MockMvcRequestBuilders.put("/tasks/1")
+                                .header("If-Match", "\"2\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(taskRequestJson))
+                                .andExpect(status().isPreconditionFailed())
+                                .andExpect(jsonPath("$.message").value("Task with id 1 has been modified (version 3)"));
+        }
+
+        @Test
+        void streamTaskEvents_shouldSubscribeFromLastEventId() throws Exception {
+                Mockito.when(eventBroadcaster.subscribe("7")).thenReturn(new SseEmitter());
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/stream")
+                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                .header("Last-Event-ID", "7"))
+                                .andExpect(request().asyncStarted());
+
+                Mockito.verify(eventBroadcaster).subscribe("7");
+        }
+
+        @Test
+        void getTasksDue_shouldReturnTasksInRangeSortedByDueDate() throws Exception {
+                TaskResponse first = new TaskResponse(2, "Soon", "Due first", false, LocalDate.of(2030, 1, 2));
+                TaskResponse second = new TaskResponse(1, "Later", "Due second", false, LocalDate.of(2030, 1, 5));
+
+                Mockito.when(taskService.getTasksDueBetween(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31),
+                                false, Sort.Direction.DESC, 0, 100)).thenReturn(List.of(second, first));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/due")
+                                .param("from", "2030-01-01")
+                                .param("to", "2030-01-31")
+                                .param("order", "desc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(2))
+                                .andExpect(jsonPath("$[0].dueDate").value("2030-01-05"))
+                                .andExpect(jsonPath("$[1].dueDate").value("2030-01-02"));
+        }
+
+        @Test
+        void getTasksDue_shouldReturnBadRequest_whenRangeIsReversed() throws Exception {
+                Mockito.when(taskService.getTasksDueBetween(any(), any(), eq(false), any(), eq(0), eq(100)))
+                                .thenThrow(new InvalidQueryException("from (2030-02-01) must not be after to (2030-01-01)"));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/due")
+                                .param("from", "2030-02-01")
+                                .param("to", "2030-01-01"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message")
+                                                .value("from (2030-02-01) must not be after to (2030-01-01)"));
+        }
+
+        @Test
+        void getOverdueTasks_shouldReturnOpenTasksPastDueDate() throws Exception {
+                TaskResponse overdue = new TaskResponse(3, "Late", "Past due", false, LocalDate.of(2020, 5, 1));
+
+                Mockito.when(taskService.getOverdueTasks(Sort.Direction.ASC, 0, 100)).thenReturn(List.of(overdue));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/overdue"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].todo_id").value(3))
+                                .andExpect(jsonPath("$[0].completed").value(false));
+        }
+
+        @Test
+        void getTaskStats_shouldReturnCounters() throws Exception {
+                Mockito.when(taskService.getTaskStats()).thenReturn(new TaskStats(10, 4, 6, 2));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/stats"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(10))
+                                .andExpect(jsonPath("$.completed").value(4))
+                                .andExpect(jsonPath("$.open").value(6))
+                                .andExpect(jsonPath("$.overdue").value(2));
+        }
+
+        @Test
+        void queryTasks_shouldBindAllFiltersIntoOneQuery() throws Exception {
+                TaskResponse match = new TaskResponse(7, "Write report", "Quarterly", false, LocalDate.of(2030, 3, 1));
+                ArgumentCaptor<TaskQuery> captor = ArgumentCaptor.forClass(TaskQuery.class);
+
+                Mockito.when(taskService.queryTasks(any(TaskQuery.class))).thenReturn(List.of(match));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/query")
+                                .param("completed", "false")
+                                .param("title", "report")
+                                .param("dueFrom", "2030-01-01")
+                                .param("dueTo", "2030-12-31")
+                                .param("idFrom", "5")
+                                .param("sort", "dueDate")
+                                .param("order", "desc")
+                                .param("limit", "20"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].todo_id").value(7));
+
+                Mockito.verify(taskService).queryTasks(captor.capture());
+                TaskQuery query = captor.getValue();
+                assertEquals(Boolean.FALSE, query.getCompleted());
+                assertEquals("report", query.getTitle());
+                assertEquals(LocalDate.of(2030, 1, 1), query.getDueFrom());
+                assertEquals(LocalDate.of(2030, 12, 31), query.getDueTo());
+                assertEquals(5, query.getIdFrom());
+                assertNull(query.getIdTo());
+                assertEquals("dueDate", query.getSort());
+                assertEquals("desc", query.getOrder());
+                assertEquals(20, query.getLimit());
+        }
+
+        @Test
+        void queryTasks_shouldReturnBadRequest_whenSortIsUnknown() throws Exception {
+                Mockito.when(taskService.queryTasks(any(TaskQuery.class)))
+                                .thenThrow(new InvalidQueryException("sort must be one of [todo_id, title], got: bogus"));
+
+                mockMvc.perform(MockMvcRequestBuilders.get("/tasks/query").param("sort", "bogus"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         void updateStatus_shouldMarkTaskAsCompleted() throws Exception {
                 TaskResponse completedTask = new TaskResponse();
@@ -358,7 +711,7 @@ public class TaskControllerTest {
 
                 Mockito.when(taskService.updateStatus(1)).thenReturn(completedTask);
 
-                mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/1/complete")
+                performAsync(MockMvcRequestBuilders.patch("/tasks/1/complete")
                                 .accept(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -366,12 +719,35 @@ public class TaskControllerTest {
                                 .andExpect(jsonPath("$.completed").value(true));
         }
 
+        @Test
+        void markCompleted_shouldSetCompletedTrue() throws Exception {
+                TaskResponse completedTask = new TaskResponse(1, "Test task", "Test Description", true, null, 4L);
+
+                Mockito.when(taskService.setCompleted(1, true)).thenReturn(completedTask);
+
+                performAsync(MockMvcRequestBuilders.put("/tasks/1/completed"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"4\""))
+                                .andExpect(jsonPath("$.completed").value(true));
+        }
+
+        @Test
+        void markIncomplete_shouldSetCompletedFalse() throws Exception {
+                TaskResponse openTask = new TaskResponse(1, "Test task", "Test Description", false, null, 5L);
+
+                Mockito.when(taskService.setCompleted(1, false)).thenReturn(openTask);
+
+                performAsync(MockMvcRequestBuilders.delete("/tasks/1/completed"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.completed").value(false));
+        }
+
         @Test
         void updateStatus_shouldReturn404_whenTaskNotFound() throws Exception {
                 Mockito.when(taskService.updateStatus(99))
                                 .thenThrow(new TaskNotFoundException("Task with ID 99 not found"));
 
-                mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/99/complete")
+                performAsync(MockMvcRequestBuilders.patch("/tasks/99/complete")
                                 .accept(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isNotFound())
                                 .andExpect(jsonPath("$.message").value("Task with ID 99 not found"));
@@ -382,17 +758,77 @@ public class TaskControllerTest {
                 Mockito.when(taskService.updateStatus(1))
                                 .thenThrow(new DataAccessResourceFailureException("DB not reachable"));
 
-                mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/1/complete")
+                performAsync(MockMvcRequestBuilders.patch("/tasks/1/complete")
                                 .accept(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isInternalServerError())
                                 .andExpect(jsonPath("$.message").value("A database error occurred: DB not reachable"));
         }
 
+        @Test
+        void addTasks_shouldReturnPerItemResults() throws Exception {
+                String batchJson = """
+                                [
+                                    { "title": "Batch Task", "description": "Batch Description" },
+                                    { "title": "", "description": "Batch Description" }
+                                ]
+                                """;
+
+                TaskResponse created = new TaskResponse(7, "Batch Task", "Batch Description", false, null);
+                List<BatchItemResult> results = List.of(
+                                BatchItemResult.of(0, BatchItemResult.Status.CREATED, created),
+                                BatchItemResult.invalid(1, null, List.of("title: Title cannot be empty")));
+
+                Mockito.when(taskService.createTasks(any())).thenReturn(results);
+
+                mockMvc.perform(MockMvcRequestBuilders.post("/tasks/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(batchJson))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                                .andExpect(jsonPath("$[0].task.todo_id").value(7))
+                                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                                .andExpect(jsonPath("$[1].errors[0]").value("title: Title cannot be empty"));
+        }
+
+        @Test
+        void completeTasks_shouldReportMissingTasks() throws Exception {
+                TaskResponse completed = new TaskResponse(1, "Test task", "Test Description", true, null);
+                List<BatchItemResult> results = List.of(
+                                BatchItemResult.of(0, BatchItemResult.Status.UPDATED, completed),
+                                new BatchItemResult(1, 99, BatchItemResult.Status.NOT_FOUND, null, null));
+
+                Mockito.when(taskService.completeTasks(List.of(1, 99))).thenReturn(results);
+
+                mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/batch/complete")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[1, 99]"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].task.completed").value(true))
+                                .andExpect(jsonPath("$[1].todo_id").value(99))
+                                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+        }
+
+        @Test
+        void deleteTasks_shouldReturnPerItemResults() throws Exception {
+                List<BatchItemResult> results = List.of(
+                                new BatchItemResult(0, 1, BatchItemResult.Status.DELETED, null, null),
+                                new BatchItemResult(1, 2, BatchItemResult.Status.NOT_FOUND, null, null));
+
+                Mockito.when(taskService.deleteTasks(List.of(1, 2))).thenReturn(results);
+
+                mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[1, 2]"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status").value("DELETED"))
+                                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+        }
+
         @Test
         void deleteTaskById_shouldReturnNoContent() throws Exception {
                 Mockito.doNothing().when(taskService).deleteTask(1);
 
-                mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/1"))
+                performAsync(MockMvcRequestBuilders.delete("/tasks/1"))
                                 .andExpect(status().isNoContent());
         }
 
@@ -401,7 +837,7 @@ public class TaskControllerTest {
                 Mockito.doThrow(new TaskNotFoundException("Task with ID 42 not found"))
                                 .when(taskService).deleteTask(42);
 
-                mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/42"))
+                performAsync(MockMvcRequestBuilders.delete("/tasks/42"))
                                 .andExpect(status().isNotFound())
                                 .andExpect(jsonPath("$.message").value("Task with ID 42 not found"));
         }
@@ -411,9 +847,26 @@ public class TaskControllerTest {
                 Mockito.doThrow(new DataAccessResourceFailureException("DB not reachable"))
                                 .when(taskService).deleteTask(1);
 
-                mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/1"))
+                performAsync(MockMvcRequestBuilders.delete("/tasks/1"))
                                 .andExpect(status().isInternalServerError())
                                 .andExpect(jsonPath("$.message").value("A database error occurred: DB not reachable"));
         }
 
+        // The wire format from TaskBinaryMessageConverter's Javadoc; the application never reads it
+        private static List<TaskResponse> decodeBinary(byte[] body) throws IOException {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+                List<TaskResponse> tasks = new ArrayList<>();
+                for (int count = in.readInt(); count > 0; count--) {
+                        int id = in.readInt();
+                        int flags = in.readByte();
+                        LocalDate dueDate = (flags & 2) != 0 ? LocalDate.ofEpochDay(in.readInt()) : null;
+                        tasks.add(new TaskResponse(id, readString(in), readString(in), (flags & 1) != 0, dueDate));
+                }
+                return tasks;
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+                int length = in.readInt();
+                return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+        }
 }
@@ -0,0 +1,48 @@
+package com.ray8118.todo_app.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+public class TaskResponseSerializerTest {
+
+        // Switches TaskResponse back to the reflective bean serializer
+        @JsonSerialize(using = JsonSerializer.None.class)
+        private abstract static class BeanSerialized {
+        }
+
+        private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+                        .mixIn(TaskResponse.class, BeanSerialized.class).build();
+
+        @Test
+        void serialize_shouldMatchBeanSerializer() throws Exception {
+                List<TaskResponse> tasks = List.of(
+                                new TaskResponse(1, "Buy milk", "Semi-skimmed", false, LocalDate.of(2025, 12, 31), 4),
+                                new TaskResponse(2, "Quote \"and\" \\ slash", null, true, null),
+                                new TaskResponse(3, null, "Ünïcödé ✓ \u0001", false, LocalDate.of(7, 3, 9)),
+                                new TaskResponse(4, "Far future", "", true, LocalDate.of(12345, 1, 2)));
+
+                assertEquals(beanMapper.writeValueAsString(tasks), objectMapper.writeValueAsString(tasks));
+        }
+
+        @Test
+        void serialize_shouldRoundTrip() throws Exception {
+                TaskResponse task = new TaskResponse(7, "Title", "Description", true, LocalDate.of(2026, 2, 3));
+
+                TaskResponse read = objectMapper.readValue(objectMapper.writeValueAsString(task), TaskResponse.class);
+
+                assertEquals(7, read.getTodo_id());
+                assertEquals("Title", read.getTitle());
+                assertEquals(LocalDate.of(2026, 2, 3), read.getDueDate());
+                assertEquals(true, read.isCompleted());
+        }
+}
@@ -0,0 +1,159 @@
+package com.ray8118.todo_app.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.model.Task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TaskJournalTest {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void reopen_shouldRestoreEveryChange() throws Exception {
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        store.insertAll(List.of(task("One", 1), task("Two", 2), task("Three", 3)));
+                        store.update(2, task -> {
+                                task.setCompleted(true);
+                                return true;
+                        });
+                        store.delete(3);
+                }
+
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+
+                        assertEquals(List.of("One", "Two"), titles(store.findAll()));
+                        assertEquals(1, store.findById(2).getVersion());
+                        assertTrue(store.findById(2).isCompleted());
+                        assertNull(store.findById(3));
+                        // Ids are never reused, even when the highest one was deleted
+                        assertEquals(4, store.insert(task("Four", 4)).getTodo_id());
+                        assertEquals(List.of(1, 4), ids(store.findDueBetween(false, LocalDate.now(),
+                                        LocalDate.now().plusDays(10), false, 0, 10)));
+                }
+        }
+
+        @Test
+        void compact_shouldReplaceOldSegmentsWithSnapshot() throws Exception {
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.NEVER)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        for (int i = 0; i < 100; i++) {
+                                store.insert(task("Task " + i, i % 7));
+                        }
+                        for (int id = 1; id <= 100; id += 2) {
+                                store.delete(id);
+                        }
+                        journal.compact();
+                        store.update(2, task -> {
+                                task.setTitle("Renamed after snapshot");
+                                return true;
+                        });
+                }
+
+                assertEquals(List.of("tasks-00000000000000000002.log", "tasks-00000000000000000002.snapshot"),
+                                files());
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.NEVER)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        TaskStats stats = store.stats(LocalDate.now());
+
+                        assertEquals(50, stats.getTotal());
+                        assertEquals("Renamed after snapshot", store.findById(2).getTitle());
+                        assertEquals(101, store.insert(task("Next", 1)).getTodo_id());
+                }
+        }
+
+        @Test
+        void reopen_shouldIgnoreTornRecordAtEndOfLog() throws Exception {
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        store.insertAll(List.of(task("One", 1), task("Two", 2)));
+                }
+                // A crash in the middle of an append: a length and part of the record only
+                Files.write(directory.resolve(files().get(0)), new byte[] { 0, 0, 0, 40, 1, 2, 3 },
+                                StandardOpenOption.APPEND);
+
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        store.insert(task("Three", 3));
+                }
+
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        assertEquals(List.of("One", "Two", "Three"), titles(new InMemoryTaskStore(journal).findAll()));
+                }
+        }
+
+        @Test
+        void concurrentWriters_shouldAllBeRecovered() throws Exception {
+                int threads = 8;
+                int writesPerThread = 200;
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        ExecutorService executor = Executors.newFixedThreadPool(threads);
+                        try {
+                                List<Future<?>> futures = new ArrayList<>();
+                                for (int t = 0; t < threads; t++) {
+                                        futures.add(executor.submit(() -> {
+                                                for (int i = 0; i < writesPerThread; i++) {
+                                                        store.insert(task("Concurrent", i % 30));
+                                                }
+                                        }));
+                                }
+                                for (Future<?> future : futures) {
+                                        future.get();
+                                }
+                        } finally {
+                                executor.shutdownNow();
+                        }
+                }
+
+                try (TaskJournal journal = journal(TaskJournal.FsyncPolicy.ALWAYS)) {
+                        InMemoryTaskStore store = new InMemoryTaskStore(journal);
+                        assertEquals(threads * writesPerThread, store.stats(LocalDate.now()).getTotal());
+                }
+        }
+
+        private TaskJournal journal(TaskJournal.FsyncPolicy fsyncPolicy) throws Exception {
+                return new TaskJournal(directory, fsyncPolicy, Duration.ofMillis(100), Long.MAX_VALUE,
+                                new SimpleMeterRegistry());
+        }
+
+        private List<String> files() throws Exception {
+                try (Stream<Path> files = Files.list(directory)) {
+                        return files.map(file -> file.getFileName().toString()).sorted().toList();
+                }
+        }
+
+        private static List<String> titles(List<Task> tasks) {
+                return tasks.stream().map(Task::getTitle).toList();
+        }
+
+        private static List<Integer> ids(List<Task> tasks) {
+                return tasks.stream().map(Task::getTodo_id).toList();
+        }
+
+        private static Task task(String title, int dueInDays) {
+                return new Task(title, "Journal test", LocalDate.now().plusDays(dueInDays));
+        }
+}
@@ -0,0 +1,78 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class AsyncTaskServiceTest {
+
+        private final TaskService taskService = Mockito.mock(TaskService.class);
+        private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        private final AsyncTaskService asyncTaskService = new AsyncTaskService(taskService,
+                        beans.getBeanProvider(DataSource.class),
+                        beans.getBeanProvider(MeterRegistry.class), true, 1, 1);
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+                asyncTaskService.shutdown();
+        }
+
+        @Test
+        void getTaskOrThrow_shouldRunOnTheTaskServiceExecutor() throws Exception {
+                Mockito.when(taskService.getTaskOrThrow(1)).thenAnswer(invocation -> new TaskResponse(1,
+                                Thread.currentThread().getName(), "Description", false, null));
+
+                TaskResponse task = asyncTaskService.getTaskOrThrow(1).get(5, TimeUnit.SECONDS);
+
+                assertTrue(task.getTitle().startsWith("task-service-"), task.getTitle());
+        }
+
+        @Test
+        void getTaskOrThrow_shouldCompleteExceptionallyWithTheServiceException() {
+                Mockito.when(taskService.getTaskOrThrow(99)).thenThrow(new TaskNotFoundException("Task not found"));
+
+                ExecutionException ex = assertThrows(ExecutionException.class,
+                                () -> asyncTaskService.getTaskOrThrow(99).get(5, TimeUnit.SECONDS));
+
+                assertEquals(TaskNotFoundException.class, ex.getCause().getClass());
+        }
+
+        @Test
+        void calls_shouldBeRejectedOnceThreadsAndQueueAreFull() throws Exception {
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                Mockito.when(taskService.updateStatus(1)).thenAnswer(invocation -> {
+                        started.countDown();
+                        release.await();
+                        return new TaskResponse(1, "Task", "Description", true, null);
+                });
+
+                CompletableFuture<TaskResponse> running = asyncTaskService.updateStatus(1);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                CompletableFuture<TaskResponse> queued = asyncTaskService.updateStatus(1);
+
+                assertThrows(RejectedExecutionException.class, () -> asyncTaskService.updateStatus(1));
+
+                release.countDown();
+                assertTrue(running.get(5, TimeUnit.SECONDS).isCompleted());
+                assertTrue(queued.get(5, TimeUnit.SECONDS).isCompleted());
+        }
+}
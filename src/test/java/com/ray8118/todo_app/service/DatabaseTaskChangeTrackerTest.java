@@ -0,0 +1,103 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public class DatabaseTaskChangeTrackerTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private TaskChangeTracker changeTracker;
+
+        @Test
+        void currentVersion_shouldNotAdvance_untilTheWriteCommits() throws Exception {
+                long before = changeTracker.currentVersion();
+
+                try (Connection writer = dataSource.getConnection(); Statement statement = writer.createStatement()) {
+                        writer.setAutoCommit(false);
+                        insert(statement, "Uncommitted");
+                        statement.executeUpdate("update task set version = version + 1 where title = 'Uncommitted'");
+
+                        // Read on a second connection while the write is still open
+                        assertEquals(before, changeTracker.currentVersion());
+
+                        writer.commit();
+                }
+
+                // One step per transaction, however many statements it ran
+                assertEquals(before + 1, changeTracker.currentVersion());
+        }
+
+        @Test
+        void currentVersion_shouldNotAdvance_whenTheWriteRollsBack() throws Exception {
+                long before = changeTracker.currentVersion();
+
+                try (Connection writer = dataSource.getConnection(); Statement statement = writer.createStatement()) {
+                        writer.setAutoCommit(false);
+                        insert(statement, "Rolled back");
+                        writer.rollback();
+                }
+
+                assertEquals(before, changeTracker.currentVersion());
+
+                try (Connection writer = dataSource.getConnection(); Statement statement = writer.createStatement()) {
+                        insert(statement, "Committed");
+                }
+                assertTrue(changeTracker.currentVersion() > before);
+        }
+
+        @Test
+        void currentVersion_shouldAdvanceOnce_forAMultiRowTransaction_andNotForStatementsThatChangeNothing()
+                        throws Exception {
+                long before = changeTracker.currentVersion();
+
+                try (Connection writer = dataSource.getConnection(); Statement statement = writer.createStatement()) {
+                        writer.setAutoCommit(false);
+                        for (int i = 0; i < 3; i++) {
+                                insert(statement, "Batch " + i);
+                        }
+                        statement.executeUpdate("update task set is_completed = true where title like 'Batch %'");
+                        writer.commit();
+
+                        assertEquals(before + 1, changeTracker.currentVersion());
+
+                        statement.executeUpdate("update task set is_completed = true where todo_id = -1");
+                        statement.executeUpdate("delete from task where todo_id = -1");
+                        writer.commit();
+                }
+
+                assertEquals(before + 1, changeTracker.currentVersion());
+                try (Connection reader = dataSource.getConnection(); Statement statement = reader.createStatement();
+                                ResultSet pending = statement.executeQuery("select count(*) from task_change_pending")) {
+                        pending.next();
+                        assertEquals(0, pending.getLong(1));
+                }
+        }
+
+        private static void insert(Statement statement, String title) throws Exception {
+                statement.executeUpdate("insert into task (title, description, is_completed, due_date, version)"
+                        + " values ('" + title + "', 'Written over plain JDBC', false, current_date, 0)");
+        }
+}
@@ -0,0 +1,159 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskQuery;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.InMemoryTaskStore;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+
+public class InMemoryTaskServiceTest extends TaskServiceContractTest {
+
+        private InMemoryTaskStore store;
+        private InMemoryTaskService taskService;
+        private final List<Object> events = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+                store = new InMemoryTaskStore();
+                taskService = new InMemoryTaskService(store, Validation.buildDefaultValidatorFactory().getValidator(),
+                                new LocalTaskChangeTracker(), events::add);
+        }
+
+        @Override
+        protected TaskService taskService() {
+                return taskService;
+        }
+
+        @Test
+        void createTask_shouldValidateRequest() {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("");
+
+                assertThrows(ConstraintViolationException.class, () -> taskService.createTask(request));
+                assertEquals(0, taskService.getTaskStats().getTotal());
+        }
+
+        @Test
+        void writes_shouldPublishEventsAndAdvanceVersion() {
+                long version = taskService.getTasksVersion();
+                TaskResponse created = taskService.createTask(request("Publish", LocalDate.now().plusDays(1)));
+                taskService.setCompleted(created.getTodo_id(), true);
+                taskService.setCompleted(created.getTodo_id(), true);
+                taskService.deleteTask(created.getTodo_id());
+
+                assertEquals(version + 3, taskService.getTasksVersion());
+                assertEquals(List.of(TaskEvent.Type.CREATED, TaskEvent.Type.STATUS_CHANGED, TaskEvent.Type.DELETED),
+                                events.stream().map(event -> ((TaskEvent) event).getType()).toList());
+        }
+
+        @Test
+        void completeTasks_shouldPublishChangedTasksInRequestOrder() {
+                int first = taskService.createTask(request("First", LocalDate.now().plusDays(1))).getTodo_id();
+                int second = taskService.createTask(request("Second", LocalDate.now().plusDays(1))).getTodo_id();
+                int done = taskService.createTask(request("Done", LocalDate.now().plusDays(1))).getTodo_id();
+                taskService.setCompleted(done, true);
+                events.clear();
+                long version = taskService.getTasksVersion();
+
+                taskService.completeTasks(List.of(second, done, first, second));
+
+                assertEquals(version + 1, taskService.getTasksVersion());
+                assertEquals(List.of(second, first), statusChanges());
+
+                taskService.completeTasks(List.of(first, done));
+
+                assertEquals(version + 1, taskService.getTasksVersion());
+                assertEquals(List.of(second, first), statusChanges());
+        }
+
+        @Test
+        void getOverdueTasks_andStats_shouldUseToday() {
+                LocalDate today = LocalDate.now();
+                // Past due dates are rejected by validation, so they are stored directly
+                store.insertAll(List.of(task("Yesterday", today.minusDays(1)), task("Last week", today.minusDays(7)),
+                                task("Today", today), task("Done", today.minusDays(2))));
+                taskService.setCompleted(4, true);
+
+                List<Integer> overdue = taskService.getOverdueTasks(Sort.Direction.ASC, 0, 10).stream()
+                                .map(TaskResponse::getTodo_id).toList();
+                TaskStats stats = taskService.getTaskStats();
+
+                assertEquals(List.of(2, 1), overdue);
+                assertEquals(4, stats.getTotal());
+                assertEquals(1, stats.getCompleted());
+                assertEquals(3, stats.getOpen());
+                assertEquals(2, stats.getOverdue());
+        }
+
+        @Test
+        void streamAllTasks_shouldVisitEveryTaskInIdOrder() {
+                List<Task> drafts = new ArrayList<>();
+                for (int i = 0; i < 2500; i++) {
+                        drafts.add(task("Task " + i, LocalDate.now().plusDays(i % 30)));
+                }
+                store.insertAll(drafts);
+                for (int id = 2; id <= 2500; id += 2) {
+                        store.delete(id);
+                }
+
+                List<Integer> streamed = new ArrayList<>();
+                taskService.streamAllTasks(task -> streamed.add(task.getTodo_id()));
+
+                assertEquals(1250, streamed.size());
+                assertEquals(1, streamed.get(0));
+                assertEquals(2499, streamed.get(streamed.size() - 1));
+                assertTrue(taskService.getTaskById(2).isEmpty());
+        }
+
+        @Test
+        void queryTasks_shouldSortTitlesIgnoringCaseThenById() {
+                store.insertAll(List.of(task("banana", LocalDate.now()), task("Apple", LocalDate.now()),
+                                task("apple", LocalDate.now()), task("Cherry", LocalDate.now())));
+                TaskQuery query = new TaskQuery();
+                query.setSort("title");
+
+                query.setOrder("asc");
+                assertEquals(List.of(2, 3, 1, 4), ids(taskService.queryTasks(query)));
+                query.setOrder("desc");
+                assertEquals(List.of(4, 1, 3, 2), ids(taskService.queryTasks(query)));
+        }
+
+        private static List<Integer> ids(List<TaskResponse> tasks) {
+                return tasks.stream().map(TaskResponse::getTodo_id).toList();
+        }
+
+        private List<Integer> statusChanges() {
+                return events.stream().map(TaskEvent.class::cast)
+                                .filter(event -> event.getType() == TaskEvent.Type.STATUS_CHANGED)
+                                .map(TaskEvent::getTodo_id).toList();
+        }
+
+        private static Task task(String title, LocalDate dueDate) {
+                return new Task(title, "Stored directly", dueDate);
+        }
+
+        private static TaskRequest request(String title, LocalDate dueDate) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription("In-memory engine test");
+                request.setDueDate(dueDate);
+                return request;
+        }
+}
@@ -0,0 +1,137 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresTaskCacheInvalidationChannelTest {
+
+        @Container
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        private static final String LISTEN = "LISTEN " + PostgresTaskCacheInvalidationChannel.CHANNEL;
+
+        private final List<PostgresTaskCacheInvalidationChannel> channels = new ArrayList<>();
+
+        @AfterEach
+        void stopChannels() throws Exception {
+                for (PostgresTaskCacheInvalidationChannel channel : channels) {
+                        channel.stop();
+                }
+                awaitListening(0);
+        }
+
+        @Test
+        void publishedIds_shouldReachOtherInstancesOnly() throws Exception {
+                PostgresTaskCacheInvalidationChannel publisher = channel();
+                PostgresTaskCacheInvalidationChannel other = channel();
+                RecordingListener own = new RecordingListener();
+                RecordingListener remote = new RecordingListener();
+                publisher.subscribe(own);
+                other.subscribe(remote);
+                awaitListening(2);
+
+                publisher.publish(List.of(1, 2, 3));
+
+                assertEquals(List.of(1, 2, 3), remote.evicted.poll(5, TimeUnit.SECONDS));
+                assertNull(own.evicted.poll(500, TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        void largeBatch_shouldBeSplitUnderThePayloadLimit() throws Exception {
+                PostgresTaskCacheInvalidationChannel publisher = channel();
+                PostgresTaskCacheInvalidationChannel other = channel();
+                RecordingListener remote = new RecordingListener();
+                other.subscribe(remote);
+                awaitListening(1);
+                List<Integer> ids = IntStream.range(1_000_000, 1_005_000).boxed().toList();
+
+                publisher.publish(ids);
+
+                List<Integer> received = new ArrayList<>();
+                while (received.size() < ids.size()) {
+                        Collection<Integer> batch = remote.evicted.poll(5, TimeUnit.SECONDS);
+                        assertNotNull(batch, "received " + received.size() + " of " + ids.size() + " ids");
+                        received.addAll(batch);
+                }
+                assertEquals(ids, received);
+        }
+
+        @Test
+        void lostListenConnection_shouldEvictEverythingOnReconnect() throws Exception {
+                RecordingListener listener = new RecordingListener();
+                channel().subscribe(listener);
+                awaitListening(1);
+
+                admin().queryForList("select pg_terminate_backend(pid) from pg_stat_activity where query = ?", LISTEN);
+
+                // Invalidations sent while it was away are lost, so the listener must drop everything
+                assertEquals(List.of(), listener.evicted.poll(10, TimeUnit.SECONDS));
+        }
+
+        private PostgresTaskCacheInvalidationChannel channel() {
+                DataSourceProperties properties = new DataSourceProperties();
+                properties.setUrl(postgres.getJdbcUrl());
+                properties.setUsername(postgres.getUsername());
+                properties.setPassword(postgres.getPassword());
+                PostgresTaskCacheInvalidationChannel channel = new PostgresTaskCacheInvalidationChannel(admin(),
+                                properties);
+                channels.add(channel);
+                return channel;
+        }
+
+        // LISTEN runs on the listener thread; wait until the server has registered it
+        private static void awaitListening(int listeners) throws Exception {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (listeningSessions() != listeners) {
+                        if (System.nanoTime() > deadline) {
+                                throw new AssertionError("Expected " + listeners + " listening sessions");
+                        }
+                        Thread.sleep(20);
+                }
+        }
+
+        private static int listeningSessions() {
+                Integer sessions = admin().queryForObject("select count(*) from pg_stat_activity where query = ?",
+                                Integer.class, LISTEN);
+                return sessions == null ? 0 : sessions;
+        }
+
+        private static JdbcTemplate admin() {
+                return new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                                postgres.getPassword()));
+        }
+
+        private static final class RecordingListener implements TaskCacheInvalidationChannel.Listener {
+
+                private final BlockingQueue<Collection<Integer>> evicted = new LinkedBlockingQueue<>();
+
+                @Override
+                public void evict(Collection<Integer> ids) {
+                        evicted.add(ids);
+                }
+
+                @Override
+                public void evictAll() {
+                        evicted.add(List.of());
+                }
+        }
+}
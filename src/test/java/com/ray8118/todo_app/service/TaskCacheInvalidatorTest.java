@@ -0,0 +1,98 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.ray8118.todo_app.config.CacheConfig;
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+public class TaskCacheInvalidatorTest {
+
+        private final org.hibernate.Cache secondLevelCache = Mockito.mock(org.hibernate.Cache.class);
+        private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS_CACHE);
+        private final TaskCacheInvalidationChannel channel = Mockito.mock(TaskCacheInvalidationChannel.class);
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final TaskCacheInvalidator invalidator = invalidator();
+
+        @Test
+        void writtenTask_shouldBeEvictedInsideTheWriteAndAgainAfterCommit() {
+                TaskEvent event = TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, task(7));
+
+                invalidator.onTaskWritten(event);
+                Mockito.verify(secondLevelCache).evictEntityData(Task.class, 7);
+
+                invalidator.onTaskEvent(event);
+                Mockito.verify(secondLevelCache, Mockito.times(2)).evictEntityData(Task.class, 7);
+        }
+
+        @Test
+        void committedChanges_shouldBePublishedOnceAsOneBatch() {
+                invalidator.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, task(1)));
+                invalidator.onTaskEvent(TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, task(2)));
+                invalidator.onTaskEvent(TaskEvent.deleted(1));
+
+                invalidator.publishPending();
+                invalidator.publishPending();
+
+                Mockito.verify(channel).publish(Set.of(1, 2));
+                Mockito.verifyNoMoreInteractions(channel);
+                assertEquals(2.0, registry.get("todo.cache.invalidations").tag("direction", "published").counter()
+                                .count());
+        }
+
+        @Test
+        void failedPublish_shouldNotThrow() {
+                Mockito.doThrow(new IllegalStateException("connection closed")).when(channel).publish(Mockito.any());
+                invalidator.onTaskEvent(TaskEvent.deleted(3));
+
+                invalidator.publishPending();
+
+                assertEquals(0.0, registry.get("todo.cache.invalidations").tag("direction", "published").counter()
+                                .count());
+        }
+
+        @Test
+        void invalidationFromAnotherInstance_shouldEvictBothCaches() {
+                cacheManager.getCache(CacheConfig.TASKS_CACHE).put(4, task(4));
+                cacheManager.getCache(CacheConfig.TASKS_CACHE).put(5, task(5));
+
+                invalidator.evict(List.of(4));
+
+                Mockito.verify(secondLevelCache).evictEntityData(Task.class, 4);
+                assertNull(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(4));
+                assertNotNull(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(5));
+                assertEquals(1.0, registry.get("todo.cache.invalidations").tag("direction", "received").counter()
+                                .count());
+
+                invalidator.evictAll();
+
+                Mockito.verify(secondLevelCache).evictEntityData(Task.class);
+                assertNull(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(5));
+        }
+
+        private TaskCacheInvalidator invalidator() {
+                SessionFactory sessionFactory = Mockito.mock(SessionFactory.class);
+                Mockito.when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+                EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+                Mockito.when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+                return new TaskCacheInvalidator(entityManagerFactory, cacheManager, channel, registry);
+        }
+
+        private static TaskResponse task(int id) {
+                return new TaskResponse(id, "Task " + id, "Description", false, null);
+        }
+}
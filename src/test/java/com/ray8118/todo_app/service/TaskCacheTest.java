@@ -0,0 +1,166 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ray8118.todo_app.config.CacheConfig;
+import com.ray8118.todo_app.config.SqlStatementCounter;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:task-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"
+                                + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                // The data version is read from the database, as in production
+                "todo.change-tracking=database" })
+public class TaskCacheTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @BeforeEach
+        void createChangeCounter() {
+                // Normally created by migration V6, which does not run on H2
+                jdbcTemplate.execute("create table if not exists task_change_counter"
+                                + " (id boolean primary key, version bigint not null)");
+                jdbcTemplate.update("merge into task_change_counter key (id) values (true, 0)");
+        }
+
+        @Test
+        void repeatedRead_shouldBeServedFromTheCache() {
+                int id = taskService.createTask(newRequest("Cached")).getTodo_id();
+                cache().evict(id);
+                taskService.getTaskOrThrow(id);
+
+                // Neither Hibernate's copy nor the row can answer "Cached" any more
+                changeBehindTheCaches(id, "Changed");
+
+                assertEquals("Cached", taskService.getTaskOrThrow(id).getTitle());
+                assertEquals("Cached", taskService.getTaskById(id).orElseThrow().getTitle());
+        }
+
+        @Test
+        void cacheHit_shouldIssueNoSqlStatements() {
+                int id = taskService.createTask(newRequest("Cached")).getTodo_id();
+                cache().evict(id);
+
+                try (SqlStatementCounter.Scope miss = SqlStatementCounter.open()) {
+                        taskService.getTaskOrThrow(id);
+                        assertTrue(miss.getStatements() > 0);
+                }
+                try (SqlStatementCounter.Scope hit = SqlStatementCounter.open()) {
+                        assertEquals("Cached", taskService.getTaskOrThrow(id).getTitle());
+                        assertEquals(0, hit.getStatements());
+                }
+        }
+
+        @Test
+        void update_shouldPutTheNewStateInTheCache() {
+                int id = taskService.createTask(newRequest("Before")).getTodo_id();
+                taskService.getTaskOrThrow(id);
+
+                TaskResponse updated = taskService.updateTask(id, newRequest("After"));
+                changeBehindTheCaches(id, "Changed");
+
+                assertEquals("After", cached(id).getTitle());
+                assertEquals(updated.getVersion(), taskService.getTaskOrThrow(id).getVersion());
+                assertEquals("After", taskService.getTaskOrThrow(id).getTitle());
+
+                TaskResponse completed = taskService.updateStatus(id);
+                assertTrue(cached(id).isCompleted());
+                assertEquals(completed.getVersion(), cached(id).getVersion());
+        }
+
+        @Test
+        void rolledBackUpdate_shouldLeaveTheCacheAlone() {
+                int id = taskService.createTask(newRequest("Before")).getTodo_id();
+
+                transactionTemplate.executeWithoutResult(status -> {
+                        taskService.updateTask(id, newRequest("Rolled back"));
+                        status.setRollbackOnly();
+                });
+
+                assertEquals("Before", cached(id).getTitle());
+        }
+
+        @Test
+        void delete_shouldEvictTheTask() {
+                int id = taskService.createTask(newRequest("Deleted")).getTodo_id();
+                taskService.getTaskOrThrow(id);
+
+                taskService.deleteTask(id);
+
+                assertNull(cache().get(id));
+                assertTrue(taskService.getTaskById(id).isEmpty());
+                assertThrows(TaskNotFoundException.class, () -> taskService.getTaskOrThrow(id));
+        }
+
+        @Test
+        void batchDelete_shouldEvictTheTasks() {
+                int id = taskService.createTask(newRequest("Deleted in a batch")).getTodo_id();
+                taskService.getTaskOrThrow(id);
+
+                taskService.deleteTasks(List.of(id));
+
+                assertNull(cache().get(id));
+                assertTrue(taskService.getTaskById(id).isEmpty());
+        }
+
+        private void changeBehindTheCaches(int id, String title) {
+                jdbcTemplate.update("update task set title = ? where todo_id = ?", title, id);
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        }
+
+        private TaskResponse cached(int id) {
+                Cache.ValueWrapper value = cache().get(id);
+                assertNotNull(value, "task " + id + " is not cached");
+                return (TaskResponse) value.get();
+        }
+
+        private Cache cache() {
+                return cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        }
+
+        private static TaskRequest newRequest(String title) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription("Description");
+                request.setDueDate(LocalDate.now().plusDays(1));
+                return request;
+        }
+}
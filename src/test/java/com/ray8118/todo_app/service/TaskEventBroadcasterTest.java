@@ -0,0 +1,144 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ray8118.todo_app.dto.TaskEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TaskEventBroadcasterTest {
+
+        private static final int BUFFER_SIZE = 8;
+        private static final int QUEUE_CAPACITY = 4;
+
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final RecordingEmitter emitter = new RecordingEmitter();
+        private final TaskEventBroadcaster broadcaster = new TaskEventBroadcaster(new ObjectMapper(), registry,
+                        BUFFER_SIZE, QUEUE_CAPACITY, Duration.ofMinutes(1)) {
+                @Override
+                SseEmitter newEmitter() {
+                        return emitter;
+                }
+        };
+
+        @AfterEach
+        void shutdown() {
+                emitter.release.countDown();
+                broadcaster.shutdown();
+        }
+
+        @Test
+        void reconnect_shouldReplayMissedEvents() throws Exception {
+                publish(1, 2, 3);
+                emitter.release.countDown();
+
+                broadcaster.subscribe("1");
+                publish(4);
+
+                assertEquals("2 deleted", emitter.next());
+                assertEquals("3 deleted", emitter.next());
+                assertEquals("4 deleted", emitter.next());
+        }
+
+        @Test
+        void reconnect_shouldReset_whenTheIdIsUnknownOrOutOfTheBuffer() throws Exception {
+                publish(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+                emitter.release.countDown();
+
+                broadcaster.subscribe("1");
+                assertEquals("10 reset", emitter.next());
+
+                RecordingEmitter restarted = new RecordingEmitter();
+                restarted.release.countDown();
+                TaskEventBroadcaster other = new TaskEventBroadcaster(new ObjectMapper(), registry, BUFFER_SIZE,
+                                QUEUE_CAPACITY, Duration.ofMinutes(1)) {
+                        @Override
+                        SseEmitter newEmitter() {
+                                return restarted;
+                        }
+                };
+                other.subscribe("42");
+                assertEquals("0 reset", restarted.next());
+                other.shutdown();
+        }
+
+        @Test
+        void overflowingSubscriber_shouldGetOneResetAndStayConnected() throws Exception {
+                broadcaster.subscribe(null);
+                // The first event blocks in send, so the rest pile up behind it
+                publish(1);
+                assertEquals("1 deleted", emitter.next());
+                publish(2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+                emitter.release.countDown();
+
+                assertEquals("10 reset", emitter.next());
+                assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+                assertFalse(emitter.completed);
+                assertEquals(1, broadcaster.getSubscriberCount());
+                assertEquals(2.0, registry.get("todo.events.reset.slow").counter().count());
+
+                publish(11);
+                assertEquals("11 deleted", emitter.next());
+        }
+
+        private void publish(int... ids) {
+                for (int id : ids) {
+                        broadcaster.onTaskEvent(TaskEvent.deleted(id));
+                }
+        }
+
+        private static final class RecordingEmitter extends SseEmitter {
+
+                private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+                private final CountDownLatch release = new CountDownLatch(1);
+                private volatile boolean completed;
+
+                // Records "<id> <name>" and then waits until the test lets sends through
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                        String event = builder.build().stream()
+                                        .map(part -> part.getData().toString())
+                                        .collect(Collectors.joining());
+                        sent.add(field(event, "id:") + " " + field(event, "event:"));
+                        try {
+                                release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                        }
+                }
+
+                @Override
+                public void complete() {
+                        completed = true;
+                }
+
+                String next() throws InterruptedException {
+                        String event = sent.poll(5, TimeUnit.SECONDS);
+                        if (event == null) {
+                                throw new AssertionError("No event sent");
+                        }
+                        return event;
+                }
+
+                private static String field(String event, String prefix) {
+                        return event.lines().filter(line -> line.startsWith(prefix)).findFirst()
+                                        .map(line -> line.substring(prefix.length())).orElse("");
+                }
+        }
+}
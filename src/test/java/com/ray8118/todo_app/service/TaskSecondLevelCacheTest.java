@@ -0,0 +1,106 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:second-level-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"
+                                + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "todo.change-tracking=local" })
+public class TaskSecondLevelCacheTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Test
+        void loadedTask_shouldBeServedFromTheTaskRegion() {
+                int id = taskService.createTask(newRequest("Cached")).getTodo_id();
+                load(id);
+                assertTrue(secondLevelCache().containsEntity(Task.class, id));
+
+                // Changed behind Hibernate's back and without an event: only the cached copy can answer "Cached"
+                jdbcTemplate.update("update task set title = 'Changed' where todo_id = ?", id);
+
+                assertEquals("Cached", load(id).getTitle());
+        }
+
+        @Test
+        void writeAroundHibernate_shouldNotLeaveACopyCachedByAConcurrentReader() {
+                int id = taskService.createTask(newRequest("Before")).getTodo_id();
+                load(id);
+
+                // What a write-behind flush does: plain JDBC, then the event, inside one transaction
+                transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update("update task set title = 'After', version = version + 1 where todo_id = ?",
+                                        id);
+                        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.UPDATED,
+                                        new TaskResponse(id, "After", "Description", false, LocalDate.now(), 1)));
+                        assertFalse(secondLevelCache().containsEntity(Task.class, id));
+
+                        // Another transaction still reads the committed row, and caches it again
+                        Task concurrent = CompletableFuture.supplyAsync(() -> load(id))
+                                        .orTimeout(5, TimeUnit.SECONDS).join();
+                        assertEquals("Before", concurrent.getTitle());
+                        assertTrue(secondLevelCache().containsEntity(Task.class, id));
+                });
+
+                assertFalse(secondLevelCache().containsEntity(Task.class, id));
+                assertEquals("After", load(id).getTitle());
+        }
+
+        private Task load(int id) {
+                return transactionTemplate.execute(status -> taskRepository.findById(id).orElseThrow());
+        }
+
+        private org.hibernate.Cache secondLevelCache() {
+                return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        }
+
+        private static TaskRequest newRequest(String title) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription("Description");
+                request.setDueDate(LocalDate.now().plusDays(1));
+                return request;
+        }
+}
@@ -0,0 +1,210 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.ray8118.todo_app.dto.BatchItemResult;
+import com.ray8118.todo_app.dto.TaskPage;
+import com.ray8118.todo_app.dto.TaskQuery;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.exception.InvalidQueryException;
+import com.ray8118.todo_app.exception.TaskNotFoundException;
+import com.ray8118.todo_app.exception.TaskVersionMismatchException;
+
+/**
+ * Behaviour every {@link TaskService} storage engine has to share. Tests create their own tasks
+ * under a unique title and never assume the store starts empty.
+ */
+abstract class TaskServiceContractTest {
+
+        private static final int MISSING_ID = Integer.MAX_VALUE;
+
+        protected abstract TaskService taskService();
+
+        @Test
+        void createTask_shouldBeReadableById() {
+                String title = uniqueTitle();
+                TaskResponse created = taskService().createTask(request(title, LocalDate.now().plusDays(3)));
+
+                TaskResponse found = taskService().getTaskOrThrow(created.getTodo_id());
+                assertEquals(title, found.getTitle());
+                assertEquals(LocalDate.now().plusDays(3), found.getDueDate());
+                assertFalse(found.isCompleted());
+                assertEquals(0, found.getVersion());
+                assertTrue(taskService().getTaskById(created.getTodo_id()).isPresent());
+        }
+
+        @Test
+        void getTaskOrThrow_shouldThrow_whenMissing() {
+                assertThrows(TaskNotFoundException.class, () -> taskService().getTaskOrThrow(MISSING_ID));
+                assertTrue(taskService().getTaskById(MISSING_ID).isEmpty());
+        }
+
+        @Test
+        void updateTask_shouldRejectStaleVersion() {
+                TaskResponse created = taskService().createTask(request(uniqueTitle(), LocalDate.now().plusDays(1)));
+
+                TaskResponse updated = taskService().updateTask(created.getTodo_id(),
+                                request("Renamed " + uniqueTitle(), LocalDate.now().plusDays(2)), 0L);
+
+                assertEquals(1, updated.getVersion());
+                assertEquals(LocalDate.now().plusDays(2), updated.getDueDate());
+                assertThrows(TaskVersionMismatchException.class, () -> taskService().updateTask(created.getTodo_id(),
+                                request(uniqueTitle(), LocalDate.now().plusDays(2)), 0L));
+                assertThrows(TaskNotFoundException.class, () -> taskService().updateTask(MISSING_ID,
+                                request(uniqueTitle(), LocalDate.now().plusDays(2))));
+        }
+
+        @Test
+        void setCompleted_shouldNotWrite_whenAlreadyInRequestedState() {
+                TaskResponse created = taskService().createTask(request(uniqueTitle(), LocalDate.now().plusDays(1)));
+
+                TaskResponse completed = taskService().setCompleted(created.getTodo_id(), true);
+                TaskResponse again = taskService().setCompleted(created.getTodo_id(), true);
+                TaskResponse toggled = taskService().updateStatus(created.getTodo_id());
+
+                assertTrue(completed.isCompleted());
+                assertEquals(1, again.getVersion());
+                assertFalse(toggled.isCompleted());
+                assertEquals(2, toggled.getVersion());
+        }
+
+        @Test
+        void deleteTask_shouldRemoveTask() {
+                TaskResponse created = taskService().createTask(request(uniqueTitle(), LocalDate.now().plusDays(1)));
+
+                taskService().deleteTask(created.getTodo_id());
+
+                assertTrue(taskService().getTaskById(created.getTodo_id()).isEmpty());
+                assertThrows(TaskNotFoundException.class, () -> taskService().deleteTask(created.getTodo_id()));
+        }
+
+        @Test
+        void batchOperations_shouldReportEveryItem() {
+                String title = uniqueTitle();
+                List<BatchItemResult> created = taskService().createTasks(Arrays.asList(
+                                request(title, LocalDate.now().plusDays(1)), request("", LocalDate.now().plusDays(1)),
+                                request(title, LocalDate.now().plusDays(2))));
+
+                assertEquals(BatchItemResult.Status.CREATED, created.get(0).getStatus());
+                assertEquals(BatchItemResult.Status.INVALID, created.get(1).getStatus());
+                assertEquals(BatchItemResult.Status.CREATED, created.get(2).getStatus());
+                Integer first = created.get(0).getTask().getTodo_id();
+                Integer second = created.get(2).getTask().getTodo_id();
+
+                List<BatchItemResult> completed = taskService().completeTasks(Arrays.asList(first, null, MISSING_ID));
+                assertEquals(BatchItemResult.Status.UPDATED, completed.get(0).getStatus());
+                assertTrue(completed.get(0).getTask().isCompleted());
+                assertEquals(BatchItemResult.Status.INVALID, completed.get(1).getStatus());
+                assertEquals(BatchItemResult.Status.NOT_FOUND, completed.get(2).getStatus());
+
+                List<BatchItemResult> deleted = taskService().deleteTasks(List.of(first, second, MISSING_ID));
+                assertEquals(BatchItemResult.Status.DELETED, deleted.get(0).getStatus());
+                assertEquals(BatchItemResult.Status.DELETED, deleted.get(1).getStatus());
+                assertEquals(BatchItemResult.Status.NOT_FOUND, deleted.get(2).getStatus());
+                assertTrue(taskService().getTaskById(second).isEmpty());
+        }
+
+        @Test
+        void getTasksPage_shouldContinueFromCursor() {
+                TaskResponse first = taskService().createTask(request(uniqueTitle(), LocalDate.now().plusDays(1)));
+                TaskResponse second = taskService().createTask(request(uniqueTitle(), LocalDate.now().plusDays(1)));
+
+                TaskPage page = taskService().getTasksPage(TaskCursor.encode(first.getTodo_id() - 1), 1);
+                assertEquals(first.getTodo_id(), page.getTasks().get(0).getTodo_id());
+                assertNotNull(page.getNextCursor());
+
+                TaskPage next = taskService().getTasksPage(page.getNextCursor(), 1);
+                assertEquals(second.getTodo_id(), next.getTasks().get(0).getTodo_id());
+        }
+
+        @Test
+        void searchTasksByTitle_shouldIgnoreCase() {
+                String title = uniqueTitle();
+                TaskResponse created = taskService().createTask(request(title, LocalDate.now().plusDays(1)));
+
+                List<TaskResponse> found = taskService().searchTasksByTitle(title.toUpperCase(), 0, 10);
+
+                assertEquals(List.of(created.getTodo_id()), found.stream().map(TaskResponse::getTodo_id).toList());
+                assertTrue(taskService().searchTasksByTitle(null).isEmpty());
+        }
+
+        @Test
+        void getTasksDueBetween_shouldOrderByDueDateThenId() {
+                LocalDate base = LocalDate.of(2900, 1, 1).plusDays((long) (Math.random() * 30_000));
+                TaskResponse later = taskService().createTask(request(uniqueTitle(), base.plusDays(2)));
+                TaskResponse earlier = taskService().createTask(request(uniqueTitle(), base));
+                TaskResponse sameDay = taskService().createTask(request(uniqueTitle(), base));
+                TaskResponse done = taskService().createTask(request(uniqueTitle(), base.plusDays(1)));
+                taskService().setCompleted(done.getTodo_id(), true);
+
+                List<Integer> ascending = ids(taskService().getTasksDueBetween(base, base.plusDays(2), false,
+                                Sort.Direction.ASC, 0, 10));
+                List<Integer> descending = ids(taskService().getTasksDueBetween(base, base.plusDays(2), false,
+                                Sort.Direction.DESC, 0, 2));
+
+                assertEquals(List.of(earlier.getTodo_id(), sameDay.getTodo_id(), later.getTodo_id()), ascending);
+                assertEquals(List.of(later.getTodo_id(), sameDay.getTodo_id()), descending);
+                assertThrows(InvalidQueryException.class, () -> taskService().getTasksDueBetween(base.plusDays(1),
+                                base, false, Sort.Direction.ASC, 0, 10));
+        }
+
+        @Test
+        void queryTasks_shouldCombineFiltersAndSort() {
+                String title = uniqueTitle();
+                TaskResponse b = taskService().createTask(request("b " + title, LocalDate.now().plusDays(1)));
+                TaskResponse a = taskService().createTask(request("a " + title, LocalDate.now().plusDays(1)));
+                TaskResponse c = taskService().createTask(request("c " + title, LocalDate.now().plusDays(1)));
+                taskService().setCompleted(c.getTodo_id(), true);
+
+                TaskQuery query = new TaskQuery();
+                query.setTitle(title.toUpperCase());
+                query.setCompleted(false);
+                query.setSort("title");
+                query.setOrder("desc");
+
+                assertEquals(List.of(b.getTodo_id(), a.getTodo_id()), ids(taskService().queryTasks(query)));
+
+                query.setSort("priority");
+                assertThrows(InvalidQueryException.class, () -> taskService().queryTasks(query));
+        }
+
+        @Test
+        void getTaskStats_shouldCountNewTask() {
+                long total = taskService().getTaskStats().getTotal();
+                long open = taskService().getTaskStats().getOpen();
+
+                taskService().createTask(request(uniqueTitle(), LocalDate.now().plusDays(1)));
+
+                assertEquals(total + 1, taskService().getTaskStats().getTotal());
+                assertEquals(open + 1, taskService().getTaskStats().getOpen());
+        }
+
+        private static List<Integer> ids(List<TaskResponse> tasks) {
+                return tasks.stream().map(TaskResponse::getTodo_id).toList();
+        }
+
+        private static String uniqueTitle() {
+                return "Contract " + UUID.randomUUID();
+        }
+
+        private static TaskRequest request(String title, LocalDate dueDate) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription("Created by the storage engine contract test");
+                request.setDueDate(dueDate);
+                return request;
+        }
+}
@@ -0,0 +1,183 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.dto.TaskStats;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+public class TaskStatisticsTest {
+
+        private static final LocalDate TODAY = LocalDate.of(2030, 6, 15);
+
+        private final TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        private final MutableClock clock = new MutableClock(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC));
+        private final TaskStatistics statistics = new TaskStatistics(taskRepository, clock);
+
+        @Test
+        void snapshot_shouldStartFromDatabaseCountsAndFollowWrites() {
+                Mockito.when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of(
+                                count(true, TODAY.minusDays(3), 4),
+                                count(false, TODAY.minusDays(1), 2),
+                                count(false, TODAY.plusDays(1), 5)));
+                assertStats(11, 4, 7, 2, statistics.snapshot());
+
+                statistics.recordCreated(task(1, false, TODAY.minusDays(2)));
+                statistics.recordStatusChanged(task(2, true, TODAY.minusDays(1)));
+                statistics.recordUpdated(task(3, false, TODAY.plusDays(1)), task(3, false, TODAY.minusDays(5)));
+                statistics.recordDeleted(task(4, true, TODAY.minusDays(3)));
+
+                assertStats(11, 4, 7, 3, statistics.snapshot());
+        }
+
+        @Test
+        void snapshot_shouldCountOpenTasksAsOverdueOnceTheirDueDatePasses() {
+                Mockito.when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of());
+                statistics.reconcile();
+                statistics.recordCreated(task(1, false, TODAY));
+                statistics.recordCreated(task(2, false, TODAY.plusDays(1)));
+                assertStats(2, 0, 2, 0, statistics.snapshot());
+
+                clock.advance(Duration.ofDays(1));
+                assertStats(2, 0, 2, 1, statistics.snapshot());
+
+                clock.advance(Duration.ofDays(1));
+                statistics.recordStatusChanged(task(2, true, TODAY.plusDays(1)));
+                assertStats(2, 1, 1, 1, statistics.snapshot());
+        }
+
+        @Test
+        void recordedChanges_shouldOnlyApplyWhenTheTransactionCommits() {
+                Mockito.when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of());
+                statistics.reconcile();
+
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        statistics.recordCreated(task(1, false, TODAY));
+                        statistics.recordCreated(task(2, true, TODAY));
+                        assertStats(0, 0, 0, 0, statistics.snapshot());
+
+                        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                                        .getSynchronizations();
+                        assertEquals(1, synchronizations.size());
+                        synchronizations.forEach(TransactionSynchronization::afterCommit);
+                        synchronizations.forEach(synchronization -> synchronization
+                                        .afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+
+                assertStats(2, 1, 1, 0, statistics.snapshot());
+        }
+
+        @Test
+        void reconcile_shouldNotCountAChangeCommittedButNotYetApplied() {
+                Mockito.when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of());
+                statistics.reconcile();
+
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        statistics.recordCreated(task(1, false, TODAY));
+                        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                                        .getSynchronizations();
+                        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+                        // The row has committed, so the query counts it, but its delta is still to come
+                        Mockito.when(taskRepository.countByStatusAndDueDate())
+                                        .thenReturn(List.of(count(false, TODAY, 1)));
+                        statistics.reconcile();
+
+                        synchronizations.forEach(TransactionSynchronization::afterCommit);
+                        synchronizations.forEach(synchronization -> synchronization
+                                        .afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+
+                assertStats(1, 0, 1, 0, statistics.snapshot());
+                statistics.reconcile();
+                assertStats(1, 0, 1, 0, statistics.snapshot());
+        }
+
+        @Test
+        void reconcile_shouldReplaceDriftedCounters() {
+                Mockito.when(taskRepository.countByStatusAndDueDate()).thenReturn(List.of());
+                statistics.reconcile();
+                statistics.recordCreated(task(1, false, TODAY.minusDays(1)));
+                statistics.recordCreated(task(2, false, TODAY.minusDays(1)));
+
+                Mockito.when(taskRepository.countByStatusAndDueDate())
+                                .thenReturn(List.of(count(false, TODAY.minusDays(1), 1), count(true, TODAY, 3)));
+                statistics.reconcile();
+
+                assertStats(4, 3, 1, 1, statistics.snapshot());
+        }
+
+        private static void assertStats(long total, long completed, long open, long overdue, TaskStats stats) {
+                assertEquals(List.of(total, completed, open, overdue),
+                                List.of(stats.getTotal(), stats.getCompleted(), stats.getOpen(), stats.getOverdue()));
+        }
+
+        private static TaskResponse task(int id, boolean completed, LocalDate dueDate) {
+                return new TaskResponse(id, "Task " + id, "Description", completed, dueDate);
+        }
+
+        private static TaskRepository.TaskCount count(boolean completed, LocalDate dueDate, long tasks) {
+                return new TaskRepository.TaskCount() {
+                        @Override
+                        public boolean getCompleted() {
+                                return completed;
+                        }
+
+                        @Override
+                        public LocalDate getDueDate() {
+                                return dueDate;
+                        }
+
+                        @Override
+                        public long getTasks() {
+                                return tasks;
+                        }
+                };
+        }
+
+        private static final class MutableClock extends Clock {
+                private Instant instant;
+
+                MutableClock(Instant instant) {
+                        this.instant = instant;
+                }
+
+                void advance(Duration duration) {
+                        instant = instant.plus(duration);
+                }
+
+                @Override
+                public ZoneId getZone() {
+                        return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(ZoneId zone) {
+                        throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Instant instant() {
+                        return instant;
+                }
+        }
+}
@@ -0,0 +1,95 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public class TaskStatusConcurrencyTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        private static final int THREADS = 16;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Test
+        void updateStatus_shouldNotLoseConcurrentToggles() throws Exception {
+                int toggles = 201;
+                TaskResponse task = taskService.createTask(newRequest());
+
+                runConcurrently(toggles, () -> taskService.updateStatus(task.getTodo_id()));
+
+                Task stored = taskRepository.findById(task.getTodo_id()).orElseThrow();
+                // An odd number of toggles must leave an open task completed, with one version per toggle
+                assertTrue(stored.isCompleted());
+                assertEquals(toggles, stored.getVersion());
+        }
+
+        @Test
+        void setCompleted_shouldWriteOnlyOnce_whenRepeatedConcurrently() throws Exception {
+                TaskResponse task = taskService.createTask(newRequest());
+
+                runConcurrently(50, () -> taskService.setCompleted(task.getTodo_id(), true));
+
+                Task stored = taskRepository.findById(task.getTodo_id()).orElseThrow();
+                assertTrue(stored.isCompleted());
+                assertEquals(1, stored.getVersion());
+        }
+
+        private static void runConcurrently(int calls, Runnable action) throws Exception {
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        for (int i = 0; i < calls; i++) {
+                                futures.add(executor.submit(() -> {
+                                        start.await();
+                                        action.run();
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get();
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+
+        private static TaskRequest newRequest() {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Concurrency test task");
+                request.setDescription("Toggled from many threads at once");
+                request.setDueDate(LocalDate.now().plusDays(1));
+                return request;
+        }
+}
@@ -0,0 +1,135 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ray8118.todo_app.dto.TaskEvent;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.model.Task;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+/**
+ * Status writes on a database without {@code UPDATE ... RETURNING}, so it runs without Docker;
+ * {@link TaskStatusConcurrencyTest} covers the PostgreSQL statement.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:status-writes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"
+                                + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "todo.change-tracking=local" })
+@RecordApplicationEvents
+public class TaskStatusWriteTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private ApplicationEvents events;
+
+        @Test
+        void updateStatus_shouldFlipStatusAndBumpVersion() {
+                TaskResponse task = taskService.createTask(newRequest());
+
+                TaskResponse completed = taskService.updateStatus(task.getTodo_id());
+                TaskResponse reopened = taskService.updateStatus(task.getTodo_id());
+
+                assertTrue(completed.isCompleted());
+                assertEquals(1, completed.getVersion());
+                assertFalse(reopened.isCompleted());
+                assertEquals(2, reopened.getVersion());
+        }
+
+        @Test
+        void setCompleted_shouldNotWrite_whenAlreadyInRequestedState() {
+                TaskResponse task = taskService.createTask(newRequest());
+
+                taskService.setCompleted(task.getTodo_id(), true);
+                TaskResponse repeated = taskService.setCompleted(task.getTodo_id(), true);
+
+                assertTrue(repeated.isCompleted());
+                assertEquals(1, repeated.getVersion());
+                assertTrue(taskRepository.updateCompletedIfChanged(task.getTodo_id(), true).isEmpty());
+        }
+
+        @Test
+        void completeTasks_shouldPublishChangedTasksInRequestOrder() {
+                int first = taskService.createTask(newRequest()).getTodo_id();
+                int second = taskService.createTask(newRequest()).getTodo_id();
+                int done = taskService.createTask(newRequest()).getTodo_id();
+                taskService.setCompleted(done, true);
+                events.clear();
+                long version = taskService.getTasksVersion();
+
+                taskService.completeTasks(List.of(second, done, first, second));
+
+                assertEquals(version + 1, taskService.getTasksVersion());
+                assertEquals(List.of(second, first), statusChanges());
+
+                taskService.completeTasks(List.of(first, done));
+
+                assertEquals(version + 1, taskService.getTasksVersion());
+                assertEquals(List.of(second, first), statusChanges());
+        }
+
+        @Test
+        void toggleCompleted_shouldNotLeaveStaleEntityInPersistenceContext() {
+                int id = taskService.createTask(newRequest()).getTodo_id();
+
+                Task reloaded = transactionTemplate.execute(status -> {
+                        taskRepository.findById(id).orElseThrow();
+                        taskRepository.toggleCompleted(id);
+                        return taskRepository.findById(id).orElseThrow();
+                });
+
+                assertTrue(reloaded.isCompleted());
+                assertEquals(1, reloaded.getVersion());
+        }
+
+        @Test
+        void toggleCompleted_shouldNotLeaveStaleEntityInSecondLevelCache() {
+                int id = taskService.createTask(newRequest()).getTodo_id();
+                // Loaded in its own transaction, so the entity is now in the second-level cache
+                transactionTemplate.execute(status -> taskRepository.findById(id).orElseThrow());
+
+                transactionTemplate.execute(status -> taskRepository.toggleCompleted(id));
+
+                Task reloaded = transactionTemplate.execute(status -> taskRepository.findById(id).orElseThrow());
+                assertTrue(reloaded.isCompleted());
+                assertEquals(1, reloaded.getVersion());
+        }
+
+        private List<Integer> statusChanges() {
+                return events.stream(TaskEvent.class)
+                                .filter(event -> event.getType() == TaskEvent.Type.STATUS_CHANGED)
+                                .map(TaskEvent::getTodo_id).toList();
+        }
+
+        private static TaskRequest newRequest() {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Status write test task");
+                request.setDescription("Completed and reopened");
+                request.setDueDate(LocalDate.now().plusDays(1));
+                return request;
+        }
+}
@@ -0,0 +1,95 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TaskWriteLogTest {
+
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void readUnflushed_shouldReplayEntriesFromPreviousRunInOrder() throws Exception {
+                try (TaskWriteLog log = new TaskWriteLog(directory, objectMapper)) {
+                        log.append(entry(1, false, 1));
+                        log.rotate();
+                        log.append(entry(1, true, 2));
+                        log.append(entry(2, true, 5));
+                }
+
+                try (TaskWriteLog recovered = new TaskWriteLog(directory, objectMapper)) {
+                        List<TaskWriteLog.Entry> entries = recovered.readUnflushed();
+
+                        assertEquals(List.of(entry(1, false, 1), entry(1, true, 2), entry(2, true, 5)), entries);
+                }
+        }
+
+        @Test
+        void deleteSegmentsBefore_shouldDropFlushedSegmentsOnly() throws Exception {
+                try (TaskWriteLog log = new TaskWriteLog(directory, objectMapper)) {
+                        log.append(entry(1, false, 1));
+                        long keepFrom = log.rotate();
+                        log.append(entry(1, true, 2));
+                        log.deleteSegmentsBefore(keepFrom);
+                }
+
+                try (TaskWriteLog recovered = new TaskWriteLog(directory, objectMapper)) {
+                        assertEquals(List.of(entry(1, true, 2)), recovered.readUnflushed());
+                }
+        }
+
+        @Test
+        void readUnflushed_shouldSkipTornLastLine() throws Exception {
+                try (TaskWriteLog log = new TaskWriteLog(directory, objectMapper)) {
+                        log.append(entry(3, false, 1));
+                }
+                try (var files = Files.list(directory)) {
+                        Path segment = files.findFirst().orElseThrow();
+                        Files.writeString(segment, "{\"todo_id\":3,\"tit", StandardCharsets.UTF_8,
+                                        StandardOpenOption.APPEND);
+                }
+
+                try (TaskWriteLog recovered = new TaskWriteLog(directory, objectMapper)) {
+                        List<TaskWriteLog.Entry> entries = recovered.readUnflushed();
+
+                        assertEquals(1, entries.size());
+                        assertEquals(1, entries.get(0).version());
+                }
+        }
+
+        @Test
+        void readUnflushed_shouldSkipTornLastLineEndingInsideACharacter() throws Exception {
+                try (TaskWriteLog log = new TaskWriteLog(directory, objectMapper)) {
+                        log.append(entry(3, false, 1));
+                }
+                try (var files = Files.list(directory)) {
+                        Path segment = files.findFirst().orElseThrow();
+                        byte[] line = "{\"todo_id\":3,\"title\":\"Caf\u00e9".getBytes(StandardCharsets.UTF_8);
+                        // Cut between the two bytes of the final character
+                        Files.write(segment, Arrays.copyOf(line, line.length - 1), StandardOpenOption.APPEND);
+                }
+
+                try (TaskWriteLog recovered = new TaskWriteLog(directory, objectMapper)) {
+                        assertEquals(List.of(entry(3, false, 1)), recovered.readUnflushed());
+                }
+        }
+
+        private static TaskWriteLog.Entry entry(int id, boolean completed, long version) {
+                return new TaskWriteLog.Entry(id, "Task " + id, "Description", LocalDate.of(2030, 1, 1), completed,
+                                version);
+        }
+}
@@ -0,0 +1,242 @@
+package com.ray8118.todo_app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ray8118.todo_app.dto.TaskRequest;
+import com.ray8118.todo_app.dto.TaskResponse;
+import com.ray8118.todo_app.mapper.TaskMapper;
+import com.ray8118.todo_app.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:write-behind;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"
+                                + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "todo.change-tracking=local",
+                "todo.write-behind.enabled=true",
+                // Only the tests flush, apart from the run at startup
+                "todo.write-behind.flush-interval=1h" })
+public class WriteBehindTaskServiceTest {
+
+        @TempDir
+        static Path logDirectory;
+
+        @TempDir
+        Path otherLogDirectory;
+
+        @DynamicPropertySource
+        static void writeBehindProperties(DynamicPropertyRegistry registry) {
+                registry.add("todo.write-behind.log-dir", logDirectory::toString);
+        }
+
+        @Autowired
+        private WriteBehindTaskService writeBehind;
+
+        @Autowired
+        private TaskServiceImpl delegate;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private TaskChangeTracker changeTracker;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private TaskStatistics statistics;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private Validator validator;
+
+        @Test
+        void statusChange_shouldBeCountedOnceItsFlushWritesTheRow() {
+                int id = writeBehind.createTask(newRequest()).getTodo_id();
+                long completed = statistics.snapshot().getCompleted();
+
+                writeBehind.updateStatus(id);
+                // The database does not have the change yet, so reconciling must not lose it either
+                statistics.reconcile();
+                assertEquals(completed, statistics.snapshot().getCompleted());
+
+                writeBehind.flush();
+                assertEquals(completed + 1, statistics.snapshot().getCompleted());
+                statistics.reconcile();
+                assertEquals(completed + 1, statistics.snapshot().getCompleted());
+        }
+
+        @Test
+        void changeQueuedAfterAFlush_shouldBeCountedFromTheFlushedState() {
+                int id = writeBehind.createTask(newRequest()).getTodo_id();
+                long completed = statistics.snapshot().getCompleted();
+
+                writeBehind.updateStatus(id);
+                writeBehind.flush();
+                writeBehind.updateStatus(id);
+                writeBehind.updateStatus(id);
+                writeBehind.flush();
+
+                assertEquals(completed + 1, statistics.snapshot().getCompleted());
+                assertTrue(writeBehind.getTaskOrThrow(id).isCompleted());
+        }
+
+        @Test
+        void listReads_shouldSeePendingChanges() {
+                int id = writeBehind.createTask(newRequest()).getTodo_id();
+
+                TaskResponse pending = writeBehind.updateStatus(id);
+
+                assertTrue(writeBehind.filterTasksByStatus(true).stream()
+                                .anyMatch(task -> task.getTodo_id() == id && task.getVersion() == pending.getVersion()));
+                assertTrue(writeBehind.filterTasksByStatus(false).stream().noneMatch(task -> task.getTodo_id() == id));
+        }
+
+        @Test
+        void stop_shouldDrainPendingChangesAndRejectLaterOnes() throws Exception {
+                int id = writeBehind.createTask(newRequest()).getTodo_id();
+                WriteBehindTaskService service = newService();
+                service.start();
+                service.updateStatus(id);
+
+                service.stop();
+
+                assertTrue(stored(id).isCompleted());
+                assertThrows(RejectedExecutionException.class, () -> service.updateStatus(id));
+                assertThrows(RejectedExecutionException.class, () -> service.setCompleted(id, false));
+        }
+
+        @Test
+        void recoveredChanges_shouldBeWrittenAndCounted() throws Exception {
+                int id = writeBehind.createTask(newRequest()).getTodo_id();
+                long completed = statistics.snapshot().getCompleted();
+                try (TaskWriteLog log = new TaskWriteLog(otherLogDirectory, objectMapper)) {
+                        TaskResponse stored = stored(id);
+                        log.append(new TaskWriteLog.Entry(id, stored.getTitle(), stored.getDescription(),
+                                        stored.getDueDate(), true, stored.getVersion() + 1));
+                }
+
+                WriteBehindTaskService service = newService();
+                service.start();
+                service.stop();
+
+                assertTrue(stored(id).isCompleted());
+                assertEquals(completed + 1, statistics.snapshot().getCompleted());
+        }
+
+        @Test
+        void changeQueuedDuringADirectWrite_shouldWaitForItAndNotBeLost() throws Exception {
+                int id = writeBehind.createTask(newRequest()).getTodo_id();
+                long version = stored(id).getVersion();
+                CountDownLatch entered = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                TaskServiceImpl blocking = new TaskServiceImpl(taskRepository, entityManager, validator, changeTracker,
+                                eventPublisher, statistics) {
+                        @Override
+                        public TaskResponse updateTask(Integer taskId, TaskRequest request, Long expectedVersion) {
+                                entered.countDown();
+                                try {
+                                        release.await(5, TimeUnit.SECONDS);
+                                } catch (InterruptedException ex) {
+                                        Thread.currentThread().interrupt();
+                                }
+                                return transactionTemplate.execute(
+                                                status -> super.updateTask(taskId, request, expectedVersion));
+                        }
+                };
+                WriteBehindTaskService service = newService(blocking);
+                service.start();
+                ExecutorService callers = Executors.newFixedThreadPool(2);
+                try {
+                        TaskRequest request = newRequest();
+                        request.setTitle("Changed directly");
+                        Future<TaskResponse> update = callers.submit(() -> service.updateTask(id, request, version));
+                        assertTrue(entered.await(5, TimeUnit.SECONDS));
+                        Future<TaskResponse> toggle = callers.submit(() -> service.updateStatus(id));
+                        assertThrows(TimeoutException.class, () -> toggle.get(200, TimeUnit.MILLISECONDS));
+
+                        release.countDown();
+                        assertEquals(version + 1, update.get(5, TimeUnit.SECONDS).getVersion());
+                        assertEquals(version + 2, toggle.get(5, TimeUnit.SECONDS).getVersion());
+                        service.stop();
+                } finally {
+                        release.countDown();
+                        callers.shutdownNow();
+                }
+
+                TaskResponse stored = stored(id);
+                assertEquals("Changed directly", stored.getTitle());
+                assertTrue(stored.isCompleted());
+                assertEquals(version + 2, stored.getVersion());
+        }
+
+        // Read past the task cache, which only the bean's own writes keep current
+        private TaskResponse stored(int id) {
+                return taskRepository.findById(id).map(TaskMapper::toResponse).orElseThrow();
+        }
+
+        // A second instance over the same database, with its own log
+        private WriteBehindTaskService newService() {
+                return newService(delegate);
+        }
+
+        private WriteBehindTaskService newService(TaskServiceImpl delegate) {
+                return new WriteBehindTaskService(delegate, taskRepository, jdbcTemplate, transactionTemplate,
+                                changeTracker, eventPublisher, cacheManager, objectMapper, statistics,
+                                new SimpleMeterRegistry(), otherLogDirectory.toString(), Duration.ofHours(1), 500);
+        }
+
+        private static TaskRequest newRequest() {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Write-behind test task");
+                request.setDescription("Queued before it is written");
+                request.setDueDate(LocalDate.now().plusDays(1));
+                return request;
+        }
+}